@@ -75,6 +75,7 @@ public class AlifHilmy {
         }
 
         private Node root;
+        private final Node header = new Node(0); // Reused assembly-tree header for splay
 
         private Node rightRotate(Node x) {
             if (x.left == null) return x;
@@ -92,30 +93,44 @@ public class AlifHilmy {
             return y;
         }
 
+        // Top-down splay (Sleator-Tarjan): iterative, constant stack space.
+        // Nodes smaller than key go to a left assembly tree, larger ones to a
+        // right assembly tree; both are reattached under the new root.
         private Node splay(Node root, int key) {
-            if (root == null || root.key == key) return root;
-
-            if (key < root.key) {
-                if (root.left == null) return root;
-                if (key < root.left.key) {
-                    root.left.left = splay(root.left.left, key);
-                    root = rightRotate(root);
-                } else if (key > root.left.key) {
-                    root.left.right = splay(root.left.right, key);
-                    if (root.left.right != null) root.left = leftRotate(root.left);
-                }
-                return (root.left == null) ? root : rightRotate(root);
-            } else {
-                if (root.right == null) return root;
-                if (key > root.right.key) {
-                    root.right.right = splay(root.right.right, key);
-                    root = leftRotate(root);
-                } else if (key < root.right.key) {
-                    root.right.left = splay(root.right.left, key);
-                    if (root.right.left != null) root.right = rightRotate(root.right);
+            if (root == null) return null;
+            header.left = header.right = null;
+            Node leftMax = header, rightMin = header;
+            Node t = root;
+
+            while (true) {
+                if (key < t.key) {
+                    if (t.left == null) break;
+                    if (key < t.left.key) {
+                        t = rightRotate(t);
+                        if (t.left == null) break;
+                    }
+                    rightMin.left = t;
+                    rightMin = t;
+                    t = t.left;
+                } else if (key > t.key) {
+                    if (t.right == null) break;
+                    if (key > t.right.key) {
+                        t = leftRotate(t);
+                        if (t.right == null) break;
+                    }
+                    leftMax.right = t;
+                    leftMax = t;
+                    t = t.right;
+                } else {
+                    break;
                 }
-                return (root.right == null) ? root : leftRotate(root);
             }
+
+            leftMax.right = t.left;
+            rightMin.left = t.right;
+            t.left = header.right;
+            t.right = header.left;
+            return t;
         }
 
         public void insert(int key) {
@@ -144,15 +159,32 @@ public class AlifHilmy {
             return root != null && root.key == key;
         }
 
-        private void inorderTraversal(Node node) {
-            if (node == null) return;
-            inorderTraversal(node.left);
-            System.out.print(node.key + " ");
-            inorderTraversal(node.right);
+        public boolean delete(int key) {
+            root = splay(root, key);
+            if (root == null || root.key != key) return false;
+
+            if (root.left == null) {
+                root = root.right;
+            } else {
+                Node right = root.right;
+                root = splay(root.left, key); // Max of left subtree, has no right child
+                root.right = right;
+            }
+            return true;
         }
 
         public void printInOrder() {
-            inorderTraversal(root);
+            Deque<Node> stack = new ArrayDeque<>();
+            Node node = root;
+            while (node != null || !stack.isEmpty()) {
+                while (node != null) {
+                    stack.push(node);
+                    node = node.left;
+                }
+                node = stack.pop();
+                System.out.print(node.key + " ");
+                node = node.right;
+            }
         }
     }
 
@@ -167,6 +199,14 @@ public class AlifHilmy {
         System.out.println("Splay Tree Search (10 found): " + tree.search(10));
         tree.printInOrder();
         System.out.println();
+        tree.delete(20);
+        tree.printInOrder();
+        System.out.println();
+
+        // Sequential keys: one long path, still no recursion anywhere
+        SplayTree sequential = new SplayTree();
+        for (int i = 0; i < 1_000_000; i++) sequential.insert(i);
+        System.out.println("Sequential load, search 0: " + sequential.search(0));
 
         // MinHeap Test
         MinHeap minHeap = new MinHeap(10);
@@ -0,0 +1,195 @@
+import java.util.*;
+
+/**
+ * Splay tree stored as parallel int arrays instead of one object per key.
+ * Node i is keys[i] / left[i] / right[i]; deleted slots are chained into a
+ * free list (through left[]) and reused by later inserts, so a tree of n keys
+ * costs 12 bytes per slot and creates no garbage after warm-up.
+ * Splaying is iterative top-down, same algorithm as Aisy.SplayTree.
+ */
+public class ArraySplayTree {
+    private static final int NIL = -1;
+    private static final int HEADER = 0;  // Slot 0 is the assembly-tree header used by splay
+
+    private int[] keys;
+    private int[] left;
+    private int[] right;
+    private int root = NIL;
+    private int used = 1;                 // Slots handed out so far, including the header
+    private int freeList = NIL;           // Head of the chain of deleted slots
+    private int size;
+
+    public ArraySplayTree() {
+        this(16);
+    }
+
+    public ArraySplayTree(int initialCapacity) {
+        int slots = Math.max(2, initialCapacity + 1);
+        keys = new int[slots];
+        left = new int[slots];
+        right = new int[slots];
+    }
+
+    public boolean insert(int key) {
+        if (root == NIL) {
+            root = allocate(key);
+            size++;
+            return true;
+        }
+        root = splay(root, key);
+        if (keys[root] == key) return false; // Duplicate key
+
+        int node = allocate(key);
+        if (key < keys[root]) {
+            left[node] = left[root];
+            right[node] = root;
+            left[root] = NIL;
+        } else {
+            right[node] = right[root];
+            left[node] = root;
+            right[root] = NIL;
+        }
+        root = node;
+        size++;
+        return true;
+    }
+
+    public boolean search(int key) {
+        root = splay(root, key);
+        return root != NIL && keys[root] == key;
+    }
+
+    public boolean delete(int key) {
+        root = splay(root, key);
+        if (root == NIL || keys[root] != key) return false;
+
+        int removed = root;
+        if (left[root] == NIL) {
+            root = right[root];
+        } else {
+            int rightSubtree = right[root];
+            root = splay(left[root], key); // Max of left subtree, has no right child
+            right[root] = rightSubtree;
+        }
+        release(removed);
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Allocated slots, live or free (excluding the header)
+    public int capacity() {
+        return keys.length - 1;
+    }
+
+    // Bytes held by the three slot arrays
+    public long memoryBytes() {
+        return 3L * Integer.BYTES * keys.length;
+    }
+
+    // Take a slot from the free list, or the next unused slot
+    private int allocate(int key) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = left[node];
+        } else {
+            if (used == keys.length) grow();
+            node = used++;
+        }
+        keys[node] = key;
+        left[node] = right[node] = NIL;
+        return node;
+    }
+
+    private void release(int node) {
+        left[node] = freeList;
+        freeList = node;
+    }
+
+    private void grow() {
+        int slots = (int) Math.min((long) keys.length * 2, Integer.MAX_VALUE - 8);
+        if (slots == keys.length) throw new IllegalStateException("Tree is full");
+        keys = Arrays.copyOf(keys, slots);
+        left = Arrays.copyOf(left, slots);
+        right = Arrays.copyOf(right, slots);
+    }
+
+    // Top-down splay (Sleator-Tarjan) over slot indices
+    private int splay(int t, int key) {
+        if (t == NIL) return NIL;
+        left[HEADER] = right[HEADER] = NIL;
+        int leftMax = HEADER, rightMin = HEADER;
+
+        while (true) {
+            if (key < keys[t]) {
+                int y = left[t];
+                if (y == NIL) break;
+                if (key < keys[y]) {
+                    // Zig-Zig: rotate right
+                    left[t] = right[y];
+                    right[y] = t;
+                    t = y;
+                    if (left[t] == NIL) break;
+                }
+                // Link right
+                left[rightMin] = t;
+                rightMin = t;
+                t = left[t];
+            } else if (key > keys[t]) {
+                int y = right[t];
+                if (y == NIL) break;
+                if (key > keys[y]) {
+                    // Zag-Zag: rotate left
+                    right[t] = left[y];
+                    left[y] = t;
+                    t = y;
+                    if (right[t] == NIL) break;
+                }
+                // Link left
+                right[leftMax] = t;
+                leftMax = t;
+                t = right[t];
+            } else {
+                break;
+            }
+        }
+
+        // Assemble
+        right[leftMax] = left[t];
+        left[rightMin] = right[t];
+        left[t] = right[HEADER];
+        right[t] = left[HEADER];
+        return t;
+    }
+
+    // Test driver
+    public static void main(String[] args) {
+        ArraySplayTree tree = new ArraySplayTree();
+        tree.insert(20);
+        tree.insert(10);
+        tree.insert(30);
+        System.out.println("Splay Tree Search (10 found): " + tree.search(10)); // Should return true
+        tree.delete(10);
+        System.out.println("Splay Tree Search (10 found after delete): " + tree.search(10)); // Should return false
+
+        // Churn: deleted slots are recycled instead of becoming garbage
+        int n = 1_000_000;
+        ArraySplayTree large = new ArraySplayTree(2 * n);
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++) large.insert(random.nextInt(2 * n));
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < n / 2; i++) large.delete(random.nextInt(2 * n));
+            for (int i = 0; i < n / 2; i++) large.insert(random.nextInt(2 * n));
+        }
+        System.out.printf("%d keys in %d slots, %.1f bytes per key%n",
+            large.size(), large.capacity(), (double) large.memoryBytes() / large.size());
+    }
+}
@@ -0,0 +1,130 @@
+import java.util.*;
+
+/**
+ * Batched lookups of many targets against one sorted int array.
+ * - Large batches (relative to the array) are sorted and merged against the
+ *   array in one linear sweep.
+ * - Smaller batches run GROUP branchless binary searches in lockstep, so the
+ *   CPU has several independent cache misses in flight instead of one.
+ *   Java has no software prefetch; interleaving gets the same overlap.
+ */
+public class BatchSearch {
+    private static final int GROUP = 8;          // Searches interleaved per step
+    private static final int MERGE_RATIO = 16;   // Sort-and-merge once targets * MERGE_RATIO >= n
+
+    /**
+     * Same contract as DeliveryRouteOptimization.binarySearch, for every target
+     * @return For each target, an index holding it, or -1 if absent
+     */
+    public static int[] binarySearch(int[] sorted, int[] targets) {
+        int[] result = lowerBounds(sorted, targets);
+        for (int i = 0; i < targets.length; i++) {
+            int index = result[i];
+            if (index == sorted.length || sorted[index] != targets[i]) result[i] = -1;
+        }
+        return result;
+    }
+
+    /**
+     * @return For each target, its insertion point: the first index whose value is >= target
+     */
+    public static int[] lowerBounds(int[] sorted, int[] targets) {
+        int[] result = new int[targets.length];
+        if (sorted.length == 0 || targets.length == 0) return result;
+        if ((long) targets.length * MERGE_RATIO >= sorted.length) {
+            sortAndMerge(sorted, targets, result);
+        } else {
+            interleaved(sorted, targets, result);
+        }
+        return result;
+    }
+
+    // Lockstep branchless searches; all share the same shrinking length
+    private static void interleaved(int[] sorted, int[] targets, int[] result) {
+        int n = sorted.length;
+        int[] base = new int[GROUP];
+        int[] key = new int[GROUP];
+        int start = 0;
+        for (; start + GROUP <= targets.length; start += GROUP) {
+            for (int j = 0; j < GROUP; j++) {
+                base[j] = 0;
+                key[j] = targets[start + j];
+            }
+            int length = n;
+            while (length > 1) {
+                int half = length >>> 1;
+                for (int j = 0; j < GROUP; j++) {
+                    base[j] = (sorted[base[j] + half] < key[j]) ? base[j] + half : base[j];
+                }
+                length -= half;
+            }
+            for (int j = 0; j < GROUP; j++) {
+                result[start + j] = base[j] + (sorted[base[j]] < key[j] ? 1 : 0);
+            }
+        }
+        for (; start < targets.length; start++) {
+            result[start] = lowerBound(sorted, targets[start]);
+        }
+    }
+
+    // Sort (target, position) pairs, then one forward sweep over the array
+    private static void sortAndMerge(int[] sorted, int[] targets, int[] result) {
+        long[] pairs = new long[targets.length];
+        for (int i = 0; i < targets.length; i++) {
+            pairs[i] = ((long) targets[i] << 32) | i;
+        }
+        DeliveryRouteOptimization.sort(pairs, DeliveryRouteOptimization.SortAlgorithm.RADIX);
+
+        int position = 0;
+        for (long pair : pairs) {
+            int target = (int) (pair >> 32);
+            while (position < sorted.length && sorted[position] < target) position++;
+            result[(int) pair] = position;
+        }
+    }
+
+    // Single branchless lower bound
+    private static int lowerBound(int[] sorted, int target) {
+        int base = 0, length = sorted.length;
+        while (length > 1) {
+            int half = length >>> 1;
+            base = (sorted[base + half] < target) ? base + half : base;
+            length -= half;
+        }
+        return base + (sorted[base] < target ? 1 : 0);
+    }
+
+    // Test driver
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        int[] ids = random.ints(20_000_000).toArray();
+        DeliveryRouteOptimization.sort(ids, DeliveryRouteOptimization.SortAlgorithm.RADIX);
+
+        for (int batch : new int[]{200_000, 5_000_000}) {
+            int[] targets = new int[batch];
+            for (int i = 0; i < batch; i++) {
+                targets[i] = random.nextBoolean() ? ids[random.nextInt(ids.length)] : random.nextInt();
+            }
+
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                int found = 0;
+                for (int target : targets) {
+                    if (DeliveryRouteOptimization.binarySearch(ids, target) != -1) found++;
+                }
+                long loop = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                int[] result = binarySearch(ids, targets);
+                long batched = System.nanoTime() - start;
+                int batchFound = 0;
+                for (int index : result) {
+                    if (index != -1) batchFound++;
+                }
+
+                System.out.printf("%d lookups in 20M ids: loop %d ms, batch %d ms (found %d / %d)%n",
+                    batch, loop / 1_000_000, batched / 1_000_000, found, batchFound);
+            }
+        }
+    }
+}
@@ -0,0 +1,259 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Read-mostly concurrent splay tree (int keys).
+ * A plain splay tree restructures itself on every search, which forces an
+ * exclusive lock even for lookups. Here searches run under a shared read lock
+ * and never rotate. Instead each thread samples its successful lookups into a
+ * private buffer; when the buffer fills, the thread tries (without blocking)
+ * to take the write lock and splays the buffered keys in one batch. If the
+ * lock is busy the batch is dropped: adaptation is best effort, reads never wait
+ * on it. Inserts and deletes take the write lock and splay as usual.
+ */
+public class ConcurrentSplayTree {
+    private static class Node {
+        int key;
+        Node left, right;
+
+        Node(int key) {
+            this.key = key;
+        }
+    }
+
+    // Per-thread sample of recent hits waiting to be splayed
+    private static class AccessBuffer {
+        final int[] keys;
+        int count;
+        int tick;
+
+        AccessBuffer(int batchSize) {
+            keys = new int[batchSize];
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node header = new Node(0); // Assembly-tree header, only touched under the write lock
+    private Node root;
+    private int size;
+
+    private final int batchSize;
+    private final int sampleEvery;            // Record one in every sampleEvery hits
+    private final ThreadLocal<AccessBuffer> buffers;
+
+    private final LongAdder splaysApplied = new LongAdder();
+    private final LongAdder batchesDropped = new LongAdder();
+
+    public ConcurrentSplayTree() {
+        this(64, 4);
+    }
+
+    /**
+     * @param batchSize Buffered hits per thread before a splay batch is attempted
+     * @param sampleEvery Only every sampleEvery-th hit of a thread is buffered
+     */
+    public ConcurrentSplayTree(int batchSize, int sampleEvery) {
+        if (batchSize <= 0 || sampleEvery <= 0) throw new IllegalArgumentException("Batch size and sample rate must be positive");
+        this.batchSize = batchSize;
+        this.sampleEvery = sampleEvery;
+        this.buffers = ThreadLocal.withInitial(() -> new AccessBuffer(batchSize));
+    }
+
+    public boolean insert(int key) {
+        lock.writeLock().lock();
+        try {
+            if (root == null) {
+                root = new Node(key);
+                size++;
+                return true;
+            }
+            root = splay(root, key);
+            if (root.key == key) return false;
+
+            Node node = new Node(key);
+            if (key < root.key) {
+                node.left = root.left;
+                node.right = root;
+                root.left = null;
+            } else {
+                node.right = root.right;
+                node.left = root;
+                root.right = null;
+            }
+            root = node;
+            size++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean delete(int key) {
+        lock.writeLock().lock();
+        try {
+            root = splay(root, key);
+            if (root == null || root.key != key) return false;
+            if (root.left == null) {
+                root = root.right;
+            } else {
+                Node right = root.right;
+                root = splay(root.left, key);
+                root.right = right;
+            }
+            size--;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Lookup under the shared lock; hits feed the thread's splay buffer
+    public boolean search(int key) {
+        boolean found;
+        lock.readLock().lock();
+        try {
+            Node current = root;
+            while (current != null && current.key != key) {
+                current = key < current.key ? current.left : current.right;
+            }
+            found = current != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (found) recordAccess(key);
+        return found;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getSplaysApplied() {
+        return splaysApplied.sum();
+    }
+
+    public long getBatchesDropped() {
+        return batchesDropped.sum();
+    }
+
+    private void recordAccess(int key) {
+        AccessBuffer buffer = buffers.get();
+        if (++buffer.tick < sampleEvery) return;
+        buffer.tick = 0;
+        buffer.keys[buffer.count++] = key;
+        if (buffer.count < batchSize) return;
+
+        // Never block a reader on restructuring
+        if (lock.writeLock().tryLock()) {
+            try {
+                for (int i = 0; i < buffer.count; i++) {
+                    root = splay(root, buffer.keys[i]);
+                }
+                splaysApplied.add(buffer.count);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } else {
+            batchesDropped.increment();
+        }
+        buffer.count = 0;
+    }
+
+    // Top-down splay (Sleator-Tarjan), caller holds the write lock
+    private Node splay(Node t, int key) {
+        if (t == null) return null;
+        header.left = header.right = null;
+        Node leftMax = header, rightMin = header;
+
+        while (true) {
+            if (key < t.key) {
+                if (t.left == null) break;
+                if (key < t.left.key) {
+                    Node y = t.left;
+                    t.left = y.right;
+                    y.right = t;
+                    t = y;
+                    if (t.left == null) break;
+                }
+                rightMin.left = t;
+                rightMin = t;
+                t = t.left;
+            } else if (key > t.key) {
+                if (t.right == null) break;
+                if (key > t.right.key) {
+                    Node y = t.right;
+                    t.right = y.left;
+                    y.left = t;
+                    t = y;
+                    if (t.right == null) break;
+                }
+                leftMax.right = t;
+                leftMax = t;
+                t = t.right;
+            } else {
+                break;
+            }
+        }
+
+        leftMax.right = t.left;
+        rightMin.left = t.right;
+        t.left = header.right;
+        t.right = header.left;
+        return t;
+    }
+
+    // Run skewed lookups from several threads and report throughput
+    private static long lookupsPerSecond(int threads, int opsPerThread, int n, java.util.function.IntPredicate lookup)
+            throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < opsPerThread; i++) {
+                    double u = random.nextDouble();
+                    lookup.test((int) (n * u * u * u)); // Skewed towards small keys
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+        return (long) threads * opsPerThread * 1_000_000_000L / elapsed;
+    }
+
+    // Test driver
+    public static void main(String[] args) throws InterruptedException {
+        int n = 1_000_000;
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        int[] keys = new Random(42).ints(0, n).distinct().limit(n / 2).toArray();
+
+        ConcurrentSplayTree concurrent = new ConcurrentSplayTree();
+        AlifHilmy.SplayTree locked = new AlifHilmy.SplayTree();
+        for (int key : keys) {
+            concurrent.insert(key);
+            locked.insert(key);
+        }
+
+        long exclusive = lookupsPerSecond(threads, 500_000, n, key -> {
+            synchronized (locked) {
+                return locked.search(key);
+            }
+        });
+        long shared = lookupsPerSecond(threads, 500_000, n, concurrent::search);
+
+        System.out.println(threads + " threads, exclusive-lock splay tree: " + exclusive + " lookups/s");
+        System.out.println(threads + " threads, read-mostly splay tree:    " + shared + " lookups/s"
+            + " (" + concurrent.getSplaysApplied() + " splays applied, "
+            + concurrent.getBatchesDropped() + " batches dropped)");
+    }
+}
@@ -15,6 +15,100 @@ public class DeliveryRouteOptimization {
     // Names of locations corresponding to distance matrix indices
     static String[] locations = { "Warehouse A", "Warehouse B", "Center C", "Center D" };
 
+    /**
+     * Cancellation, time budget and progress channel between a running solver and its caller.
+     * Solvers poll shouldStop() in their search loops and, once it turns true, return the best
+     * tour found so far. Every strictly better tour is passed to the listener as it is found.
+     * The solver also counts its search work here (nodes expanded, memo hits).
+     * One monitor serves one run; the deadline starts when the monitor is created.
+     */
+    public static class SolverMonitor {
+        public interface Listener {
+            void improved(int cost, String route);
+        }
+
+        private final long deadline;              // System.nanoTime() deadline, Long.MAX_VALUE for none
+        private final Listener listener;
+        private volatile boolean cancelled;
+        private volatile boolean stopped;
+        private volatile double progress = -1;    // Fraction done, negative while unknown
+        private int polls;
+
+        // Search statistics, written by the solver thread
+        private long nodesExpanded;
+        private long memoHits;
+        private int bestCost = Integer.MAX_VALUE;
+
+        // No time budget, no listener
+        public SolverMonitor() {
+            this(0, null);
+        }
+
+        /**
+         * @param timeBudgetMillis Wall-clock budget for the run, 0 for none
+         * @param listener Receives every improving tour, may be null
+         */
+        public SolverMonitor(long timeBudgetMillis, Listener listener) {
+            this.deadline = timeBudgetMillis > 0 ? System.nanoTime() + timeBudgetMillis * 1_000_000 : Long.MAX_VALUE;
+            this.listener = listener;
+        }
+
+        // May be called from any thread
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        // True once cancelled or out of time; cheap enough for inner loops (reads the clock every 1024 calls)
+        public boolean shouldStop() {
+            if (stopped) return true;
+            if (cancelled || ((++polls & 1023) == 0 && System.nanoTime() > deadline)) stopped = true;
+            return stopped;
+        }
+
+        // Whether the run ended early, returning a best-so-far result
+        public boolean wasStopped() {
+            return stopped;
+        }
+
+        public void improved(int cost, String route) {
+            if (cost < bestCost) bestCost = cost;
+            if (listener != null) listener.improved(cost, route);
+        }
+
+        public void nodeExpanded() {
+            nodesExpanded++;
+        }
+
+        public void memoHit() {
+            memoHits++;
+        }
+
+        public long getNodesExpanded() {
+            return nodesExpanded;
+        }
+
+        public long getMemoHits() {
+            return memoHits;
+        }
+
+        // Cost of the best tour reported so far, Integer.MAX_VALUE if none
+        public int getBestCost() {
+            return bestCost;
+        }
+
+        public void setProgress(double fraction) {
+            progress = fraction;
+        }
+
+        public double getProgress() {
+            return progress;
+        }
+    }
+
     /**
      * @author Idham
      * Solves TSP using greedy nearest-neighbor approach
@@ -23,6 +117,14 @@ public class DeliveryRouteOptimization {
      * @return Formatted string with route and total distance
      */
     public static String greedyTSP(int[][] distanceMatrix, String[] locations) {
+        return greedyTSP(distanceMatrix, locations, new SolverMonitor());
+    }
+
+    /**
+     * Greedy nearest-neighbor TSP with progress reporting and cancellation
+     * @param monitor Progress, cancellation and time budget of this run
+     */
+    public static String greedyTSP(int[][] distanceMatrix, String[] locations, SolverMonitor monitor) {
         int n = distanceMatrix.length; // Number of locations
         boolean[] visited = new boolean[n]; // Track visited locations
         int current = 0; // Start from Warehouse A (index 0)
@@ -32,6 +134,10 @@ public class DeliveryRouteOptimization {
 
         // Visit all locations
         for (int i = 1; i < n; i++) {
+            if (monitor.shouldStop()) {
+                return "Route: " + route + " |  Stopped after " + i + " of " + n + " locations";
+            }
+            monitor.nodeExpanded();
             int nearest = -1;
             int minDist = Integer.MAX_VALUE;
 
@@ -48,11 +154,14 @@ public class DeliveryRouteOptimization {
             current = nearest;
             visited[current] = true;
             route.append(" -> ").append(locations[current]);
+            monitor.setProgress((double) i / n);
         }
 
         // Return to starting point
         totalDistance += distanceMatrix[current][0];
         route.append(" -> ").append(locations[0]);
+        monitor.improved(totalDistance, route.toString());
+        monitor.setProgress(1);
 
         return "Route: " + route.toString() + " |  Total Distance: " + totalDistance + " km";
     }
@@ -60,6 +169,9 @@ public class DeliveryRouteOptimization {
     // Constant representing infinity for DP initialization
     private static final int INF = Integer.MAX_VALUE;
 
+    // Largest instance the bitmask DP accepts: n * 2^n table entries
+    public static final int MAX_DP_LOCATIONS = 20;
+
     /**
      * @author Nik
      * Solves TSP using Dynamic Programming with memoization
@@ -67,57 +179,106 @@ public class DeliveryRouteOptimization {
      * @return String with optimal cost and path
      */
     public static String dynamicProgrammingTSP(int[][] dist) {
+        return dynamicProgrammingTSP(dist, locations, new SolverMonitor());
+    }
+
+    /**
+     * Bitmask DP TSP on any instance of at most MAX_DP_LOCATIONS locations.
+     * The path is rebuilt from a table of next locations instead of one string per state.
+     * @param names Location names
+     * @param monitor Progress, cancellation and time budget of this run
+     */
+    public static String dynamicProgrammingTSP(int[][] dist, String[] names, SolverMonitor monitor) {
         int n = dist.length;
+        if (n > MAX_DP_LOCATIONS) {
+            throw new IllegalArgumentException("Dynamic programming supports at most " + MAX_DP_LOCATIONS + " locations, got " + n);
+        }
         int VisitedAll = (1 << n) - 1; // Bitmask representing all locations visited
-        int[][] memo = new int[n][1 << n]; // Memoization table
-        String[][] path = new String[n][1 << n]; // Path reconstruction table
+        DpState state = new DpState(n, dist, monitor);
 
         // Start from location 0 with only itself visited (mask = 1)
-        int cost = dynamicProgrammingTSPH(0, 1, dist, memo, VisitedAll, path);
+        int cost = dynamicProgrammingTSPH(0, 1, VisitedAll, state);
+        if (monitor.wasStopped()) {
+            return "Stopped after " + state.filled + " of " + state.states + " DP states";
+        }
+
+        // Follow the recorded choices from the start state
+        StringBuilder path = new StringBuilder();
+        int pos = 0, mask = 1;
+        while (mask != VisitedAll) {
+            path.append(names[pos]).append("->");
+            pos = state.next[pos][mask];
+            mask |= 1 << pos;
+        }
+        path.append(names[pos]).append(" -> ").append(names[0]);
+        monitor.improved(cost, path.toString());
+        monitor.setProgress(1);
 
-        return "Cost: " + cost + ", Path: " + path[0][1];
+        return "Cost: " + cost + ", Path: " + path;
+    }
+
+    // Tables and counters of one DP run
+    private static class DpState {
+        final int[][] dist;
+        final int[][] memo;          // Best completion cost per (location, mask), -1 until computed
+        final byte[][] next;         // Location chosen next in that best completion
+        final SolverMonitor monitor;
+        final long states;           // Reachable states, for progress
+        long filled;
+
+        DpState(int n, int[][] dist, SolverMonitor monitor) {
+            this.dist = dist;
+            this.monitor = monitor;
+            memo = new int[n][1 << n];
+            next = new byte[n][1 << n];
+            for (int[] row : memo) Arrays.fill(row, -1);
+            states = Math.max(1, (long) n << Math.max(0, n - 1));
+        }
     }
 
     /**
      * DP helper function using bitmask technique
      * @param pos Current location index
      * @param mask Bitmask representing visited locations
-     * @param dist Distance matrix
-     * @param memo Memoization table
      * @param VisitedAll Complete visitation bitmask
-     * @param path Path reconstruction table
-     * @return Minimum cost to complete tour from current state
+     * @param state Memoization and path tables of this run
+     * @return Minimum cost to complete tour from current state (INF if the run was stopped)
      */
-    private static int dynamicProgrammingTSPH(int pos, int mask, int[][] dist, int[][] memo, int VisitedAll, String[][] path) {
+    private static int dynamicProgrammingTSPH(int pos, int mask, int VisitedAll, DpState state) {
         // Base case: all locations visited
         if (mask == VisitedAll) {
-            path[pos][mask] = locations[pos] + " -> " + locations[0];
-            return dist[pos][0]; // Return to start
+            return state.dist[pos][0]; // Return to start
         }
 
         // Return memoized result if available
-        if (memo[pos][mask] != 0) {
-            return memo[pos][mask];   
+        if (state.memo[pos][mask] != -1) {
+            state.monitor.memoHit();
+            return state.memo[pos][mask];
         }
+        if (state.monitor.shouldStop()) return INF;
+        state.monitor.nodeExpanded();
 
         int ans = INF;
 
         // Try all unvisited locations
-        for (int location = 0; location < dist.length; location++) {
+        for (int location = 0; location < state.dist.length; location++) {
             if ((mask & (1 << location)) == 0) { // If location not visited
                 // Recursively compute cost
-                int newAns = dist[pos][location] + dynamicProgrammingTSPH(location, mask | (1 << location), dist, memo, VisitedAll, path);
+                int rest = dynamicProgrammingTSPH(location, mask | (1 << location), VisitedAll, state);
+                if (state.monitor.wasStopped()) return INF;
+                int newAns = state.dist[pos][location] + rest;
 
                 // Update best solution
                 if (newAns < ans) {
                     ans = newAns;
-                    path[pos][mask] = locations[pos] + "->" + path[location][mask | (1 << location)];
+                    state.next[pos][mask] = (byte) location;
                 }
             }
         }
 
         // Memoize and return result
-        return memo[pos][mask] = ans;
+        if ((++state.filled & 4095) == 0) state.monitor.setProgress((double) state.filled / state.states);
+        return state.memo[pos][mask] = ans;
     }
 
     /**
@@ -127,84 +288,94 @@ public class DeliveryRouteOptimization {
      * @return Formatted path string with total distance or "No path found"
      */
     public static String backtrackingTSP(int[][] dist) {
+        return backtrackingTSP(dist, locations, new SolverMonitor());
+    }
+
+    /**
+     * Backtracking TSP on any instance. Partial routes that already cost at least as much
+     * as the best complete tour are cut off (distances are non-negative), which does not
+     * change the tour returned. Each improving tour is reported to the monitor, and a
+     * stopped run returns the best tour found so far.
+     * @param names City names
+     * @param monitor Progress, cancellation and time budget of this run
+     */
+    public static String backtrackingTSP(int[][] dist, String[] names, SolverMonitor monitor) {
         int n = dist.length; // Number of cities
-        boolean[] visited = new boolean[n]; // Track visited cities
-        visited[0] = true; // Start from first city (index 0)
-        StringBuilder path = new StringBuilder(locations[0] + " -> "); // Initialize path
+        Backtracking search = new Backtracking(dist, names, monitor);
+        search.visited[0] = true; // Start from first city (index 0)
 
         // Begin recursive backtracking
-        int minCost = tspBacktracking(0, dist, visited, n, 1, 0, path);
+        search.tspBacktracking(0, 1, 0);
 
-        if (minCost == Integer.MAX_VALUE) {
+        if (search.bestCost == Integer.MAX_VALUE) {
             return "No path found"; // No valid Hamiltonian cycle
         }
-        return path.toString() + " = " + minCost; // Return formatted solution
+        String result = search.format(search.bestRoute) + " = " + search.bestCost; // Formatted solution
+        return monitor.wasStopped() ? result + " (best found before stop)" : result;
     }
 
-    /**
-     * Recursive backtracking helper for TSP
-     * @param pos Current city position
-     * @param dist Distance matrix
-     * @param visited Visited cities array
-     * @param n Total number of cities
-     * @param count Number of visited cities
-     * @param cost Accumulated path cost so far
-     * @param path Current path being constructed
-     * @return Minimum cost of complete tour from current state
-     */
-    private static int tspBacktracking(int pos, int[][] dist, boolean[] visited, int n, int count, int cost,
-    StringBuilder path) {
-        // Base case: all cities visited
-        if (allVisited(visited)) {
-            path.append(" -> ").append(locations[0]); // Complete cycle
-            return cost + dist[pos][0]; // Add return trip cost
+    // Search state of one backtracking run
+    private static class Backtracking {
+        final int[][] dist;
+        final String[] names;
+        final SolverMonitor monitor;
+        final int n;
+        final boolean[] visited;  // Track visited cities
+        final int[] route;        // route[0..count-1] is the current partial tour
+        final int[] bestRoute;
+        int bestCost = Integer.MAX_VALUE;
+
+        Backtracking(int[][] dist, String[] names, SolverMonitor monitor) {
+            this.dist = dist;
+            this.names = names;
+            this.monitor = monitor;
+            n = dist.length;
+            visited = new boolean[n];
+            route = new int[n];
+            bestRoute = new int[n];
         }
 
-        int minAns = Integer.MAX_VALUE; // Track minimum path cost
-        StringBuilder bestPath = new StringBuilder(path); // Track best path
-
-        // Explore all unvisited cities
-        for (int i = 0; i < n; i++) {
-            if (!visited[i]) {
-                visited[i] = true; // Mark as visited
-                int prevLength = path.length(); // Remember path length
-
-                // Append current location to path
-                path.append((count == 1) ? locations[i] : " -> " + locations[i]);
+        /**
+         * Recursive backtracking helper for TSP
+         * @param pos Current city position
+         * @param count Number of visited cities
+         * @param cost Accumulated path cost so far
+         */
+        void tspBacktracking(int pos, int count, int cost) {
+            if (monitor.shouldStop()) return;
+            monitor.nodeExpanded();
+
+            // Base case: all cities visited
+            if (count == n) {
+                int total = cost + dist[pos][0]; // Add return trip cost
+                if (total < bestCost) {
+                    bestCost = total;
+                    System.arraycopy(route, 0, bestRoute, 0, n);
+                    monitor.improved(total, format(bestRoute) + " = " + total);
+                }
+                return;
+            }
 
-                // Recursively explore from this city
-                int currentCost = tspBacktracking(i, dist, visited, n, count + 1, 
-                        cost + dist[pos][i], path);
+            // Explore all unvisited cities
+            for (int i = 0; i < n; i++) {
+                if (visited[i]) continue;
+                int nextCost = cost + dist[pos][i];
+                if (nextCost >= bestCost) continue; // Cannot beat the best complete tour
 
-                // Update best solution
-                if (currentCost < minAns) {
-                    minAns = currentCost;
-                    bestPath.setLength(0); // Reset best path
-                    bestPath.append(path); // Store new best path
-                }
+                visited[i] = true; // Mark as visited
+                route[count] = i;
+                tspBacktracking(i, count + 1, nextCost);
+                visited[i] = false; // Backtrack
 
-                // Backtrack
-                visited[i] = false;
-                path.setLength(prevLength); // Revert path
+                if (count == 1) monitor.setProgress((double) (i + 1) / n);
             }
         }
 
-        // Restore best found path
-        path.setLength(0);
-        path.append(bestPath);
-        return minAns;
-    }
-
-    /**
-     * Checks if all cities have been visited
-     * @param visited Boolean array of visited status
-     * @return true if all cities visited, false otherwise
-     */
-    private static boolean allVisited(boolean[] visited) {
-        for (boolean cityVisited : visited) {
-            if (!cityVisited) return false;
+        String format(int[] tour) {
+            StringBuilder path = new StringBuilder(names[0]);
+            for (int i = 1; i < n; i++) path.append(" -> ").append(names[tour[i]]);
+            return path.append(" -> ").append(names[0]).toString(); // Complete cycle
         }
-        return true;
     }
 
     /**
@@ -226,6 +397,263 @@ public class DeliveryRouteOptimization {
         }   
     }
 
+    /**
+     * Insertion sort on the range arr[lo..hi] (inclusive), the small-array kernel of hybridSort
+     * @param arr Array to be sorted (modified in-place)
+     * @param lo First index of the range
+     * @param hi Last index of the range
+     */
+    public static void insertionSort(int[] arr, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            int key = arr[i];
+            int j = i - 1;
+            while (j >= lo && arr[j] > key) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = key;
+        }
+    }
+
+    // Ranges at or below this size are finished with insertion sort
+    static final int INSERTION_SORT_CUTOFF = 24;
+
+    /**
+     * Adaptive introsort: O(n) for input that is already ascending or descending,
+     * quicksort with median-of-three pivots otherwise, heapsort if the recursion
+     * gets too deep, and insertion sort for small ranges. O(n log n) worst case.
+     * @param arr Array to be sorted (modified in-place)
+     */
+    public static void hybridSort(int[] arr) {
+        hybridSort(arr, 0, arr.length);
+    }
+
+    /**
+     * hybridSort on the range arr[fromIndex, toIndex)
+     */
+    public static void hybridSort(int[] arr, int fromIndex, int toIndex) {
+        int n = toIndex - fromIndex;
+        if (n < 2) return;
+
+        // Detect a single ascending or descending run
+        int i = fromIndex + 1;
+        while (i < toIndex && arr[i - 1] <= arr[i]) i++;
+        if (i == toIndex) return; // Already sorted
+        if (i == fromIndex + 1) {
+            while (i < toIndex && arr[i - 1] >= arr[i]) i++;
+            if (i == toIndex) {
+                reverse(arr, fromIndex, toIndex - 1);
+                return;
+            }
+        }
+
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(n));
+        introSort(arr, fromIndex, toIndex - 1, depthLimit);
+    }
+
+    private static void introSort(int[] arr, int lo, int hi, int depthLimit) {
+        while (hi - lo + 1 > INSERTION_SORT_CUTOFF) {
+            if (depthLimit-- == 0) {
+                heapSort(arr, lo, hi);
+                return;
+            }
+
+            // Median of three moved to lo, then Hoare partition
+            int mid = (lo + hi) >>> 1;
+            if (arr[mid] < arr[lo]) swap(arr, mid, lo);
+            if (arr[hi] < arr[lo]) swap(arr, hi, lo);
+            if (arr[hi] < arr[mid]) swap(arr, hi, mid);
+            swap(arr, lo, mid);
+            int pivot = arr[lo];
+
+            int left = lo, right = hi + 1;
+            while (true) {
+                while (arr[++left] < pivot) if (left == hi) break;
+                while (arr[--right] > pivot) { }
+                if (left >= right) break;
+                swap(arr, left, right);
+            }
+            swap(arr, lo, right);
+
+            // Recurse into the smaller side, loop on the larger one
+            if (right - lo < hi - right) {
+                introSort(arr, lo, right - 1, depthLimit);
+                lo = right + 1;
+            } else {
+                introSort(arr, right + 1, hi, depthLimit);
+                hi = right - 1;
+            }
+        }
+        insertionSort(arr, lo, hi);
+    }
+
+    private static void heapSort(int[] arr, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) siftDown(arr, lo, i, n);
+        for (int end = n - 1; end > 0; end--) {
+            swap(arr, lo, lo + end);
+            siftDown(arr, lo, 0, end);
+        }
+    }
+
+    // Max-heap sift-down on arr[lo .. lo + n - 1]
+    private static void siftDown(int[] arr, int lo, int i, int n) {
+        int value = arr[lo + i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) break;
+            if (child + 1 < n && arr[lo + child + 1] > arr[lo + child]) child++;
+            if (arr[lo + child] <= value) break;
+            arr[lo + i] = arr[lo + child];
+            i = child;
+        }
+        arr[lo + i] = value;
+    }
+
+    private static void swap(int[] arr, int i, int j) {
+        int temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
+    private static void reverse(int[] arr, int lo, int hi) {
+        while (lo < hi) swap(arr, lo++, hi--);
+    }
+
+    // long[] mirror of the int[] sorting kernels above, used by ParallelSort
+    public static void insertionSort(long[] arr, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            long key = arr[i];
+            int j = i - 1;
+            while (j >= lo && arr[j] > key) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = key;
+        }
+    }
+
+    public static void hybridSort(long[] arr) {
+        hybridSort(arr, 0, arr.length);
+    }
+
+    public static void hybridSort(long[] arr, int fromIndex, int toIndex) {
+        int n = toIndex - fromIndex;
+        if (n < 2) return;
+
+        int i = fromIndex + 1;
+        while (i < toIndex && arr[i - 1] <= arr[i]) i++;
+        if (i == toIndex) return; // Already sorted
+        if (i == fromIndex + 1) {
+            while (i < toIndex && arr[i - 1] >= arr[i]) i++;
+            if (i == toIndex) {
+                reverse(arr, fromIndex, toIndex - 1);
+                return;
+            }
+        }
+
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(n));
+        introSort(arr, fromIndex, toIndex - 1, depthLimit);
+    }
+
+    private static void introSort(long[] arr, int lo, int hi, int depthLimit) {
+        while (hi - lo + 1 > INSERTION_SORT_CUTOFF) {
+            if (depthLimit-- == 0) {
+                heapSort(arr, lo, hi);
+                return;
+            }
+
+            int mid = (lo + hi) >>> 1;
+            if (arr[mid] < arr[lo]) swap(arr, mid, lo);
+            if (arr[hi] < arr[lo]) swap(arr, hi, lo);
+            if (arr[hi] < arr[mid]) swap(arr, hi, mid);
+            swap(arr, lo, mid);
+            long pivot = arr[lo];
+
+            int left = lo, right = hi + 1;
+            while (true) {
+                while (arr[++left] < pivot) if (left == hi) break;
+                while (arr[--right] > pivot) { }
+                if (left >= right) break;
+                swap(arr, left, right);
+            }
+            swap(arr, lo, right);
+
+            if (right - lo < hi - right) {
+                introSort(arr, lo, right - 1, depthLimit);
+                lo = right + 1;
+            } else {
+                introSort(arr, right + 1, hi, depthLimit);
+                hi = right - 1;
+            }
+        }
+        insertionSort(arr, lo, hi);
+    }
+
+    private static void heapSort(long[] arr, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) siftDown(arr, lo, i, n);
+        for (int end = n - 1; end > 0; end--) {
+            swap(arr, lo, lo + end);
+            siftDown(arr, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(long[] arr, int lo, int i, int n) {
+        long value = arr[lo + i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) break;
+            if (child + 1 < n && arr[lo + child + 1] > arr[lo + child]) child++;
+            if (arr[lo + child] <= value) break;
+            arr[lo + i] = arr[lo + child];
+            i = child;
+        }
+        arr[lo + i] = value;
+    }
+
+    private static void swap(long[] arr, int i, int j) {
+        long temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
+    private static void reverse(long[] arr, int lo, int hi) {
+        while (lo < hi) swap(arr, lo++, hi--);
+    }
+
+    /**
+     * Sorting algorithms selectable through the batch API and the Gui
+     */
+    public enum SortAlgorithm { INSERTION, HYBRID, PARALLEL, RADIX }
+
+    // Shared sorters, so their scratch buffers are reused across calls
+    private static final ParallelSort PARALLEL_SORT = new ParallelSort();
+    private static final RadixSort RADIX_SORT = new RadixSort();
+
+    /**
+     * Batch API: sorts an array in place with the chosen algorithm
+     * @param arr Array to be sorted (modified in-place)
+     * @param algorithm Algorithm to use; RADIX is fastest for large uniform ids
+     */
+    public static void sort(int[] arr, SortAlgorithm algorithm) {
+        switch (algorithm) {
+            case INSERTION: insertionSort(arr); break;
+            case HYBRID: hybridSort(arr); break;
+            case PARALLEL: PARALLEL_SORT.sort(arr); break;
+            case RADIX: RADIX_SORT.sort(arr); break;
+        }
+    }
+
+    public static void sort(long[] arr, SortAlgorithm algorithm) {
+        switch (algorithm) {
+            case INSERTION: insertionSort(arr, 0, arr.length - 1); break;
+            case HYBRID: hybridSort(arr); break;
+            case PARALLEL: PARALLEL_SORT.sort(arr); break;
+            case RADIX: RADIX_SORT.sort(arr); break;
+        }
+    }
+
     /**
      * Performs binary search on sorted array
      * @param arr Sorted array to search
@@ -247,6 +675,114 @@ public class DeliveryRouteOptimization {
         }
         return -1; // Element not found
     }
+
+    /**
+     * @return First index whose value is >= target (arr.length if none), i.e. the insertion point
+     */
+    public static int lowerBound(int[] arr, int target) {
+        int left = 0, right = arr.length;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (arr[mid] < target) left = mid + 1;
+            else right = mid;
+        }
+        return left;
+    }
+
+    /**
+     * @return First index whose value is > target (arr.length if none)
+     */
+    public static int upperBound(int[] arr, int target) {
+        int left = 0, right = arr.length;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (arr[mid] <= target) left = mid + 1;
+            else right = mid;
+        }
+        return left;
+    }
+
+    /**
+     * @return {first, end}: all copies of target occupy arr[first, end); empty if absent
+     */
+    public static int[] equalRange(int[] arr, int target) {
+        int first = lowerBound(arr, target);
+        int end = first;
+        if (first < arr.length && arr[first] == target) end = upperBound(arr, target);
+        return new int[]{first, end};
+    }
+
+    // Number of copies of target in a sorted array
+    public static int count(int[] arr, int target) {
+        int[] range = equalRange(arr, target);
+        return range[1] - range[0];
+    }
+
+    /**
+     * Galloping search: probes from+1, from+2, from+4, ... until it passes target,
+     * then binary searches the last gap. Costs O(log d) where d is the distance to the
+     * answer, so it suits answers near a known position (merging, cursors over sorted
+     * streams) and ranges whose length is not known up front.
+     * @return First index >= from whose value is >= target (arr.length if none)
+     */
+    public static int gallopLowerBound(int[] arr, int from, int target) {
+        int n = arr.length;
+        if (from >= n || arr[from] >= target) return from;
+        int previous = from, step = 1, probe = from + 1;
+        while (probe < n && arr[probe] < target) {
+            previous = probe;
+            int remaining = n - from;
+            step = step <= remaining / 2 ? step << 1 : remaining;
+            probe = from + step;
+        }
+        // Answer lies in (previous, probe]
+        int left = previous + 1, right = probe;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (arr[mid] < target) left = mid + 1;
+            else right = mid;
+        }
+        return left;
+    }
+
+    /**
+     * Exponential search from the start of the array
+     * @return Index of target if found, -1 otherwise
+     */
+    public static int exponentialSearch(int[] arr, int target) {
+        int index = gallopLowerBound(arr, 0, target);
+        return (index < arr.length && arr[index] == target) ? index : -1;
+    }
+
+    /**
+     * Interpolation search: guesses the position from the value, O(log log n) probes
+     * on evenly spaced keys such as sequential id ranges. Skewed data falls back to
+     * binary search after about log2(n) guesses, so the worst case stays O(log n).
+     * @return Index of target if found, -1 otherwise
+     */
+    public static int interpolationSearch(int[] arr, int target) {
+        int left = 0, right = arr.length - 1;
+        int guesses = 32 - Integer.numberOfLeadingZeros(arr.length);
+        while (left <= right && target >= arr[left] && target <= arr[right]) {
+            if (arr[left] == arr[right]) return left; // Whole range equals target
+            if (guesses-- == 0) {
+                while (left <= right) {
+                    int mid = (left + right) >>> 1;
+                    if (arr[mid] == target) return mid;
+                    if (arr[mid] < target) left = mid + 1;
+                    else right = mid - 1;
+                }
+                return -1;
+            }
+            double fraction = ((long) target - arr[left]) / (double) ((long) arr[right] - arr[left]);
+            int pos = left + (int) ((right - left) * fraction);
+            if (arr[pos] == target) return pos;
+            if (arr[pos] < target) left = pos + 1;
+            else right = pos - 1;
+        }
+        return -1;
+    }
+
     // Driver method
     public static void main(String[] args)
     {
@@ -259,6 +795,30 @@ public class DeliveryRouteOptimization {
         System.out.println("Sorted Array: " + Arrays.toString(arr));
         System.out.println("Binary Search (5 found at index): " + binarySearch(arr,
                 5));
+        int[] stops = {2, 4, 4, 4, 7, 9, 9, 12};
+        System.out.println("Lower/upper bound of 4: " + lowerBound(stops, 4) + "/" + upperBound(stops, 4)
+            + ", copies: " + count(stops, 4) + ", insertion point of 8: " + lowerBound(stops, 8));
+        System.out.println("Exponential search (9): " + exponentialSearch(stops, 9)
+            + ", interpolation search (12): " + interpolationSearch(stops, 12));
+
+        // Evenly spaced ids: interpolation needs a few guesses instead of ~24 halvings
+        int[] ids = new int[10_000_000];
+        for (int i = 0; i < ids.length; i++) ids[i] = 100_000 + 7 * i;
+        Random random = new Random(42);
+        int[] targets = new int[2_000_000];
+        for (int i = 0; i < targets.length; i++) targets[i] = 100_000 + random.nextInt(7 * ids.length);
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            int binaryFound = 0;
+            for (int target : targets) if (binarySearch(ids, target) != -1) binaryFound++;
+            long binary = System.nanoTime() - start;
+            start = System.nanoTime();
+            int interpolationFound = 0;
+            for (int target : targets) if (interpolationSearch(ids, target) != -1) interpolationFound++;
+            long interpolation = System.nanoTime() - start;
+            System.out.printf("%d lookups: binary %d ms, interpolation %d ms (found %d / %d)%n", targets.length,
+                binary / 1_000_000, interpolation / 1_000_000, binaryFound, interpolationFound);
+        }
         // // Min-Heap Test
         // MinHeap heap = new MinHeap();
         // heap.insert(10);
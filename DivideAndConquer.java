@@ -3,7 +3,7 @@ import java.util.*;
    * @author Alif
 */
 public class DivideAndConquer {
-    
+
     static int[][] distances = {
         {0, 12, 18, 22},
         {12, 0, 40, 30},
@@ -12,17 +12,54 @@ public class DivideAndConquer {
     };
 
     static String[] places = {"Warehouse A", "Warehouse B", "Center C", "Center D"};
-    static List<Integer> optimalRoute = new ArrayList<Integer>();
-    static int lowestCost = Integer.MAX_VALUE;
-    
+
+    // Search state of one run, so runs on different instances can proceed in parallel
+    private static class Search {
+        final int[][] distances;
+        final DeliveryRouteOptimization.SolverMonitor monitor;
+        List<Integer> optimalRoute = new ArrayList<Integer>();
+        int lowestCost = Integer.MAX_VALUE;
+
+        Search(int[][] distances, DeliveryRouteOptimization.SolverMonitor monitor) {
+            this.distances = distances;
+            this.monitor = monitor;
+        }
+    }
+
+    /**
+     * Solves the route for any instance and returns it as text instead of printing it
+     * @param distances Distance matrix between places
+     * @param places Place names
+     * @param monitor Progress, cancellation and time budget; improving routes are reported to it
+     * @return Route and total cost, or the best route found before the run was stopped
+     */
+    public static String solve(int[][] distances, String[] places, DeliveryRouteOptimization.SolverMonitor monitor) {
+        Search search = new Search(distances, monitor);
+        List<Integer> route = new ArrayList<>();
+        Set<Integer> visited = new HashSet<>();
+
+        // Start the recursion with the first place (Warehouse A)
+        route.add(0);
+        visited.add(0);
+        solveTSPDivideConquer(search, places, route, 0, visited);
+
+        if (search.optimalRoute.isEmpty()) return "No route found";
+        String result = formatRoute(places, search.optimalRoute) + " | Total Delivery Cost: " + search.lowestCost + " units";
+        return monitor.wasStopped() ? result + " (best found before stop)" : result;
+    }
+
     // Recursive method to divide the places into two parts and solve TSP on each part
-    public static void solveTSPDivideConquer(List<Integer> route, int cost, Set<Integer> visited) {
+    private static void solveTSPDivideConquer(Search search, String[] places, List<Integer> route, int cost, Set<Integer> visited) {
+        if (search.monitor.shouldStop()) return;
+        search.monitor.nodeExpanded();
+        int[][] distances = search.distances;
         if (route.size() == places.length) {
             // Base case: All places have been visited, calculate cost to return to the start
             cost += distances[route.get(route.size() - 1)][route.get(0)];
-            if (cost < lowestCost) {
-                lowestCost = cost;
-                optimalRoute = new ArrayList<>(route);
+            if (cost < search.lowestCost) {
+                search.lowestCost = cost;
+                search.optimalRoute = new ArrayList<>(route);
+                search.monitor.improved(cost, formatRoute(places, route));
             }
             return;
         }
@@ -30,43 +67,38 @@ public class DivideAndConquer {
         // Divide: Split into two subproblems (halves of the places)
         for (int i = 0; i < places.length; i++) {
             if (!visited.contains(i)) {
+                int nextCost = cost + (route.size() > 0 ? distances[route.get(route.size() - 1)][i] : 0);
+                if (nextCost >= search.lowestCost) continue; // This part cannot beat the best route
+
                 route.add(i);
                 visited.add(i);
 
                 // Conquer: Recur for the next place
-                solveTSPDivideConquer(route, cost + (route.size() > 1 ? distances[route.get(route.size() - 2)][i] : 0), visited);
+                solveTSPDivideConquer(search, places, route, nextCost, visited);
 
                 // Backtrack: Unmark the place and remove it from the route
                 visited.remove(i);
                 route.remove(route.size() - 1);
+
+                if (route.size() == 1) search.monitor.setProgress((double) (i + 1) / places.length);
             }
         }
     }
-    
-    public static void main(String[] args) {
-        List<Integer> route = new ArrayList<>();
-        Set<Integer> visited = new HashSet<>();
-        
-        // Start the recursion with the first place (Warehouse A)
-        route.add(0);
-        visited.add(0);
-        solveTSPDivideConquer(route, 0, visited);
 
+    private static String formatRoute(String[] places, List<Integer> route) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < route.size(); i++) {
+            text.append(places[route.get(i)]).append(" → ");
+        }
+        return text.append(places[route.get(0)]).toString(); // Return to the starting point
+    }
+
+    public static void main(String[] args) {
         // Print the optimal route and cost
         System.out.println("==============================");
         System.out.println("      OPTIMAL DELIVERY ROUTE");
         System.out.println("==============================");
-        
-        for (int i = 0; i < optimalRoute.size(); i++) {
-            System.out.print(places[optimalRoute.get(i)]);
-            if (i < optimalRoute.size() - 1) {
-                System.out.print(" → ");
-            }
-        }
-        System.out.println(" → " + places[0]); // Return to the starting point
-        
-        System.out.println("------------------------------");
-        System.out.println("Total Delivery Cost: " + lowestCost + " units");
+        System.out.println(solve(distances, places, new DeliveryRouteOptimization.SolverMonitor()));
         System.out.println("==============================");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,330 @@
+import java.util.*;
+
+/**
+ * Tours over points in the plane, for instances too large for a distance matrix
+ * (10k stops would need 400 MB of ints).
+ * - nearestNeighbourTour: greedy construction, neighbours found through a uniform grid
+ * - twoOpt: 2-opt local search limited to each stop's k nearest neighbours, with
+ *   don't-look bits; every applied move is reported to a MoveListener so a view
+ *   can update only the edges that changed
+ * Tours are arrays of stop indices; the tour is closed (last stop returns to the first).
+ */
+public class EuclideanTour {
+    /**
+     * Receives each 2-opt move: tour positions i..j (inclusive, walking forward and
+     * possibly wrapping past the end) were reversed.
+     */
+    public interface MoveListener {
+        void reversed(int i, int j);
+    }
+
+    private static final int NEIGHBOURS = 8;
+
+    private final double[] x, y;
+    private final int n;
+
+    public EuclideanTour(double[] x, double[] y) {
+        if (x.length != y.length) throw new IllegalArgumentException("Coordinate arrays differ in length");
+        this.x = x;
+        this.y = y;
+        this.n = x.length;
+    }
+
+    // Stops spread uniformly over a 1000 x 1000 km area
+    public static EuclideanTour random(int n, Random random) {
+        double[] x = new double[n], y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = random.nextDouble() * 1000;
+            y[i] = random.nextDouble() * 1000;
+        }
+        return new EuclideanTour(x, y);
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public double[] getX() {
+        return x;
+    }
+
+    public double[] getY() {
+        return y;
+    }
+
+    public double distance(int a, int b) {
+        double dx = x[a] - x[b], dy = y[a] - y[b];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    public double length(int[] tour) {
+        double total = 0;
+        for (int i = 0; i < tour.length; i++) total += distance(tour[i], tour[(i + 1) % tour.length]);
+        return total;
+    }
+
+    // ===================== Construction =====================
+
+    /**
+     * Greedy tour from stop 0: always move to the closest unvisited stop.
+     * Unvisited stops are kept per grid cell, so each step searches outwards ring by ring.
+     */
+    public int[] nearestNeighbourTour() {
+        int[] tour = new int[n];
+        if (n == 0) return tour;
+        Grid grid = new Grid();
+        int[][] cells = new int[grid.cells][];
+        int[] cellSize = new int[grid.cells];
+        int[] slot = new int[n];             // Index of each stop inside its cell list
+        for (int i = 0; i < n; i++) cellSize[grid.cellOf(i)]++;
+        for (int c = 0; c < grid.cells; c++) cells[c] = new int[cellSize[c]];
+        Arrays.fill(cellSize, 0);
+        for (int i = 0; i < n; i++) {
+            int c = grid.cellOf(i);
+            slot[i] = cellSize[c];
+            cells[c][cellSize[c]++] = i;
+        }
+
+        int current = 0;
+        for (int step = 0; step < n; step++) {
+            tour[step] = current;
+            // Remove current from its cell (swap with the last entry)
+            int c = grid.cellOf(current);
+            int last = cells[c][--cellSize[c]];
+            cells[c][slot[current]] = last;
+            slot[last] = slot[current];
+            if (step == n - 1) break;
+
+            int cx = grid.column(current), cy = grid.row(current);
+            int best = -1;
+            double bestDistance = Double.MAX_VALUE;
+            for (int ring = 0; ring < grid.side; ring++) {
+                // Nothing in this ring can beat a stop already closer than the ring's inner edge
+                if (best >= 0 && (ring - 1) * grid.cellWidth > bestDistance) break;
+                for (int gy = cy - ring; gy <= cy + ring; gy++) {
+                    if (gy < 0 || gy >= grid.side) continue;
+                    boolean edgeRow = gy == cy - ring || gy == cy + ring;
+                    for (int gx = cx - ring; gx <= cx + ring; gx += edgeRow ? 1 : 2 * ring) {
+                        if (gx >= 0 && gx < grid.side) {
+                            int cell = gy * grid.side + gx;
+                            for (int k = 0; k < cellSize[cell]; k++) {
+                                int candidate = cells[cell][k];
+                                double d = distance(current, candidate);
+                                if (d < bestDistance) {
+                                    bestDistance = d;
+                                    best = candidate;
+                                }
+                            }
+                        }
+                        if (ring == 0) break;
+                    }
+                }
+            }
+            current = best;
+        }
+        return tour;
+    }
+
+    // Square grid over the bounding box with about two stops per cell
+    private class Grid {
+        final int side, cells;
+        final double minX, minY, cellWidth;
+
+        Grid() {
+            double loX = Double.MAX_VALUE, loY = Double.MAX_VALUE, hiX = -Double.MAX_VALUE, hiY = -Double.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                loX = Math.min(loX, x[i]);
+                hiX = Math.max(hiX, x[i]);
+                loY = Math.min(loY, y[i]);
+                hiY = Math.max(hiY, y[i]);
+            }
+            side = Math.max(1, (int) Math.sqrt(n / 2.0));
+            cells = side * side;
+            minX = loX;
+            minY = loY;
+            cellWidth = Math.max(Math.max(hiX - loX, hiY - loY) / side, 1e-9) * (1 + 1e-9);
+        }
+
+        int column(int i) {
+            return Math.min(side - 1, (int) ((x[i] - minX) / cellWidth));
+        }
+
+        int row(int i) {
+            return Math.min(side - 1, (int) ((y[i] - minY) / cellWidth));
+        }
+
+        int cellOf(int i) {
+            return row(i) * side + column(i);
+        }
+    }
+
+    // k nearest neighbours of every stop, closest first
+    private int[][] nearestNeighbours(int k) {
+        k = Math.min(k, n - 1);
+        Grid grid = new Grid();
+        int[] start = new int[grid.cells + 1];
+        for (int i = 0; i < n; i++) start[grid.cellOf(i) + 1]++;
+        for (int c = 0; c < grid.cells; c++) start[c + 1] += start[c];
+        int[] members = new int[n];
+        int[] fill = Arrays.copyOf(start, grid.cells);
+        for (int i = 0; i < n; i++) members[fill[grid.cellOf(i)]++] = i;
+
+        int[][] neighbours = new int[n][];
+        int[] best = new int[k];
+        double[] bestDistance = new double[k];
+        for (int i = 0; i < n; i++) {
+            int found = 0;
+            int cx = grid.column(i), cy = grid.row(i);
+            for (int ring = 0; ring < grid.side; ring++) {
+                if (found == k && (ring - 1) * grid.cellWidth > bestDistance[k - 1]) break;
+                for (int gy = cy - ring; gy <= cy + ring; gy++) {
+                    if (gy < 0 || gy >= grid.side) continue;
+                    boolean edgeRow = gy == cy - ring || gy == cy + ring;
+                    for (int gx = cx - ring; gx <= cx + ring; gx += edgeRow ? 1 : 2 * ring) {
+                        if (gx >= 0 && gx < grid.side) {
+                            int cell = gy * grid.side + gx;
+                            for (int m = start[cell]; m < start[cell + 1]; m++) {
+                                int j = members[m];
+                                if (j == i) continue;
+                                double d = distance(i, j);
+                                if (found == k && d >= bestDistance[k - 1]) continue;
+                                // Insertion into the sorted candidate list
+                                int p = found < k ? found++ : k - 1;
+                                while (p > 0 && bestDistance[p - 1] > d) {
+                                    best[p] = best[p - 1];
+                                    bestDistance[p] = bestDistance[p - 1];
+                                    p--;
+                                }
+                                best[p] = j;
+                                bestDistance[p] = d;
+                            }
+                        }
+                        if (ring == 0) break;
+                    }
+                }
+            }
+            neighbours[i] = Arrays.copyOf(best, found);
+        }
+        return neighbours;
+    }
+
+    // ===================== 2-opt =====================
+
+    /**
+     * Improves tour in place until no neighbour-list 2-opt move helps or the monitor stops it
+     * @param monitor Cancellation and time budget; the final length is reported as an improvement
+     * @param listener Told about every applied move, may be null
+     * @return Number of moves applied
+     */
+    public int twoOpt(int[] tour, DeliveryRouteOptimization.SolverMonitor monitor, MoveListener listener) {
+        if (n < 4) return 0;
+        int[][] neighbours = nearestNeighbours(NEIGHBOURS);
+        int[] position = new int[n];
+        for (int i = 0; i < n; i++) position[tour[i]] = i;
+
+        // Queue of stops whose surroundings changed (don't-look bits)
+        int[] queue = new int[n];
+        boolean[] queued = new boolean[n];
+        int head = 0, count = n;
+        for (int i = 0; i < n; i++) {
+            queue[i] = tour[i];
+            queued[tour[i]] = true;
+        }
+
+        int moves = 0;
+        while (count > 0 && !monitor.shouldStop()) {
+            int a = queue[head];
+            head = (head + 1) % n;
+            count--;
+            queued[a] = false;
+            monitor.nodeExpanded();
+
+            boolean improved = false;
+            for (int direction = 0; direction < 2 && !improved; direction++) {
+                int pa = position[a];
+                // Forward: edges (a, next a) and (c, next c); backward: (prev a, a) and (prev c, c)
+                int b = direction == 0 ? tour[(pa + 1) % n] : tour[(pa - 1 + n) % n];
+                double ab = distance(a, b);
+                for (int c : neighbours[a]) {
+                    double ac = distance(a, c);
+                    if (ac >= ab) break; // Neighbours are sorted: no later one can help
+                    int pc = position[c];
+                    int d = direction == 0 ? tour[(pc + 1) % n] : tour[(pc - 1 + n) % n];
+                    if (d == a || c == b) continue;
+                    double delta = ac + distance(b, d) - ab - distance(c, d);
+                    if (delta < -1e-9) {
+                        // New edges (a, c) and (b, d)
+                        if (direction == 0) reverse(tour, position, (pa + 1) % n, pc, listener);  // b .. c
+                        else reverse(tour, position, pa, (pc - 1 + n) % n, listener);             // a .. d
+                        for (int stop : new int[]{a, b, c, d}) {
+                            if (!queued[stop]) {
+                                queue[(head + count) % n] = stop;
+                                queued[stop] = true;
+                                count++;
+                            }
+                        }
+                        moves++;
+                        improved = true;
+                        break;
+                    }
+                }
+            }
+            if ((moves & 255) == 0) monitor.setProgress(1 - (double) count / n);
+        }
+        monitor.improved((int) Math.round(length(tour)), moves + " 2-opt moves");
+        return moves;
+    }
+
+    // Reverse positions i..j (forward, may wrap); the shorter side is reversed, which gives the same cycle
+    private void reverse(int[] tour, int[] position, int i, int j, MoveListener listener) {
+        int length = (j - i + n) % n + 1;
+        if (2 * length > n) {
+            int from = (j + 1) % n;
+            j = (i - 1 + n) % n;
+            i = from;
+            length = n - length;
+        }
+        if (listener != null) listener.reversed(i, j);
+        reverseRange(tour, i, j);
+        for (int k = 0, p = i; k < length; k++, p = (p + 1) % n) position[tour[p]] = p;
+    }
+
+    /**
+     * Reverses positions i..j of tour in place, walking forward from i and wrapping
+     * past the end if j < i. Shared with views that mirror a tour move by move.
+     */
+    public static void reverseRange(int[] tour, int i, int j) {
+        int n = tour.length;
+        int length = (j - i + n) % n + 1;
+        for (int k = 0; k < length / 2; k++) {
+            int left = (i + k) % n, right = (j - k + n) % n;
+            int temp = tour[left];
+            tour[left] = tour[right];
+            tour[right] = temp;
+        }
+    }
+
+    // Test driver
+    public static void main(String[] args) {
+        for (int n : new int[]{1_000, 10_000, 100_000}) {
+            EuclideanTour instance = random(n, new Random(42));
+            long start = System.nanoTime();
+            int[] tour = instance.nearestNeighbourTour();
+            long construction = System.nanoTime() - start;
+            double greedy = instance.length(tour);
+
+            start = System.nanoTime();
+            int moves = instance.twoOpt(tour, new DeliveryRouteOptimization.SolverMonitor(30_000, null), null);
+            long search = System.nanoTime() - start;
+
+            boolean valid = true;
+            boolean[] seen = new boolean[n];
+            for (int stop : tour) {
+                if (seen[stop]) valid = false;
+                seen[stop] = true;
+            }
+            System.out.printf("%d stops: nearest neighbour %.0f km in %d ms, 2-opt %.0f km after %d moves in %d ms (valid tour: %b)%n",
+                n, greedy, construction / 1_000_000, instance.length(tour), moves, search / 1_000_000, valid);
+        }
+    }
+}
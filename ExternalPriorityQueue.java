@@ -0,0 +1,436 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * External-memory min priority queue for int keys.
+ * Keeps a hot in-memory heap (same array layout as AlifHilmy.MinHeap) of at most
+ * memoryBudget keys. When the heap is full it is spilled as one sorted run to a
+ * temp file that is read back through memory-mapped windows. extractMin merges
+ * the heap with the run heads lazily, so only one read window per run is ever resident.
+ * At most maxRuns runs stay open: past that, the runs with the fewest keys left
+ * are merged into one, so open files stay bounded however many keys are queued
+ * and every key is rewritten only O(log n) times.
+ * A failed spill or merge deletes its partial file and leaves the queue as it
+ * was; if the queue cannot be restored it refuses further use instead of
+ * returning wrong keys or sizes.
+ */
+public class ExternalPriorityQueue implements Closeable {
+    private static final int DEFAULT_WINDOW_BYTES = 1 << 20; // 1 MB read window per run
+    private static final int DEFAULT_MAX_RUNS = 64;           // Open run files before runs are merged
+
+    private final int[] heap;       // Hot in-memory min-heap
+    private int size;
+    private final int windowBytes;
+    private final int maxRuns;
+    private final Path spillDir;
+
+    private Run[] runHeap = new Run[16]; // Min-heap of the open runs ordered by head, exhausted runs are removed
+    private int runHeapSize;
+    private long diskKeys;          // Keys still waiting in spilled runs
+    private IOException failure;    // Set when run state was lost, the queue is unusable afterwards
+
+    // I/O counters
+    private long spillCount;
+    private long bytesWritten;
+    private long bytesRead;
+    private long mergeCount;
+
+    /**
+     * One sorted run on disk, read back through a sliding mapped window
+     */
+    private class Run {
+        final Path file;
+        final FileChannel channel;
+        final long end;             // File length in bytes
+        long position;              // Start of the next window
+        MappedByteBuffer window;
+        int head;                   // Smallest key not yet consumed
+        long mark;                  // Offset of the head saved by mark()
+
+        Run(Path file, FileChannel channel, long end) {
+            this.file = file;
+            this.channel = channel;
+            this.end = end;
+        }
+
+        // Advance to the next key, returns false when the run is exhausted
+        boolean advance() throws IOException {
+            if (window == null || !window.hasRemaining()) {
+                if (position >= end) return false;
+                long length = Math.min(windowBytes, end - position);
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                position += length;
+                bytesRead += length;
+            }
+            head = window.getInt();
+            return true;
+        }
+
+        // Remember the current head so a failed merge can reset to it
+        void mark() {
+            mark = position - (window == null ? 0 : window.remaining()) - Integer.BYTES;
+        }
+
+        void reset() throws IOException {
+            window = null;
+            position = mark;
+            advance();
+        }
+
+        // Keys left in the run, head included
+        long remaining() {
+            return (end - position + (window == null ? 0 : window.remaining())) / Integer.BYTES + 1;
+        }
+
+        void close() {
+            window = null;
+            try {
+                channel.close();
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    public ExternalPriorityQueue(int memoryBudget) {
+        this(memoryBudget, DEFAULT_WINDOW_BYTES, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    public ExternalPriorityQueue(int memoryBudget, int windowBytes, Path spillDir) {
+        this(memoryBudget, windowBytes, DEFAULT_MAX_RUNS, spillDir);
+    }
+
+    /**
+     * @param memoryBudget Maximum number of keys held in the in-memory heap
+     * @param windowBytes Size of the mapped read window kept per spilled run
+     * @param maxRuns Maximum number of runs (open files) before runs are merged
+     * @param spillDir Directory for the run files
+     */
+    public ExternalPriorityQueue(int memoryBudget, int windowBytes, int maxRuns, Path spillDir) {
+        if (memoryBudget <= 0 || memoryBudget > Integer.MAX_VALUE / Integer.BYTES) {
+            throw new IllegalArgumentException("Invalid memory budget: " + memoryBudget);
+        }
+        if (windowBytes < Integer.BYTES) {
+            throw new IllegalArgumentException("Invalid window size: " + windowBytes);
+        }
+        if (maxRuns < 2) {
+            throw new IllegalArgumentException("Invalid run limit: " + maxRuns);
+        }
+        this.heap = new int[memoryBudget];
+        this.windowBytes = windowBytes - windowBytes % Integer.BYTES; // Keys never straddle two windows
+        this.maxRuns = maxRuns;
+        this.spillDir = spillDir;
+    }
+
+    // Insert a key, spilling the hot heap to disk first if it is full
+    public void insert(int value) {
+        checkUsable();
+        if (size == heap.length) spill();
+        int i = size++;
+        while (i != 0 && heap[(i - 1) / 2] > value) {
+            heap[i] = heap[(i - 1) / 2];
+            i = (i - 1) / 2;
+        }
+        heap[i] = value;
+    }
+
+    public int peekMin() {
+        checkUsable();
+        if (isEmpty()) throw new IllegalStateException("Heap is empty");
+        if (runHeapSize == 0) return heap[0];
+        int runHead = runHeap[0].head;
+        return (size > 0 && heap[0] <= runHead) ? heap[0] : runHead;
+    }
+
+    // Take the smaller of the hot heap top and the smallest run head
+    public int extractMin() {
+        checkUsable();
+        if (isEmpty()) throw new IllegalStateException("Heap is empty");
+        if (runHeapSize == 0 || (size > 0 && heap[0] <= runHeap[0].head)) {
+            return extractFromMemory();
+        }
+        return extractFromRuns();
+    }
+
+    public boolean isEmpty() {
+        checkUsable();
+        return size == 0 && diskKeys == 0;
+    }
+
+    public long size() {
+        checkUsable();
+        return size + diskKeys;
+    }
+
+    public long getSpillCount() { return spillCount; }
+    public long getBytesWritten() { return bytesWritten; }
+    public long getBytesRead() { return bytesRead; }
+    public int getRunsOnDisk() { return runHeapSize; }
+    public long getMergeCount() { return mergeCount; }
+
+    /**
+     * Deletes all remaining run files
+     */
+    @Override
+    public void close() {
+        for (int i = 0; i < runHeapSize; i++) {
+            runHeap[i].close();
+            runHeap[i] = null;
+        }
+        runHeapSize = 0;
+        diskKeys = 0;
+        size = 0;
+    }
+
+    private void checkUsable() {
+        if (failure != null) throw new IllegalStateException("Queue lost spilled keys after an I/O error", failure);
+    }
+
+    // Drops every run after state that cannot be restored, later calls fail fast
+    private UncheckedIOException fail(IOException e) {
+        failure = e;
+        close();
+        return new UncheckedIOException(e);
+    }
+
+    private int extractFromMemory() {
+        int min = heap[0];
+        int last = heap[--size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (heap[child] >= last) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        if (size > 0) heap[i] = last;
+        return min;
+    }
+
+    private int extractFromRuns() {
+        Run run = runHeap[0];
+        int min = run.head;
+        diskKeys--;
+        try {
+            if (!run.advance()) {
+                run.close();
+                runHeap[0] = runHeap[--runHeapSize];
+                runHeap[runHeapSize] = null;
+            }
+        } catch (IOException e) {
+            throw fail(e);  // The key was counted as taken but the run could not move past it
+        }
+        siftDown(runHeap, runHeapSize, 0);
+        return min;
+    }
+
+    /**
+     * Write the hot heap as one sorted run and register it in the run heap.
+     * On failure the file is deleted and the heap, sorted and so still a valid heap, is kept.
+     */
+    private void spill() {
+        Arrays.sort(heap, 0, size);
+        long length = (long) size * Integer.BYTES;
+        Path file = null;
+        FileChannel channel = null;
+        try {
+            file = Files.createTempFile(spillDir, "epq-run-", ".bin");
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // Written through a buffer: a full disk then fails the write instead of faulting a mapped page later
+            ByteBuffer out = ByteBuffer.allocate(windowBytes);
+            for (int i = 0; i < size; i++) {
+                out.putInt(heap[i]);
+                if (!out.hasRemaining()) flush(channel, out);
+            }
+            flush(channel, out);
+
+            Run run = new Run(file, channel, length);
+            run.advance();
+            addRun(run);
+        } catch (IOException e) {
+            discard(file, channel);
+            throw new UncheckedIOException(e);
+        } catch (Throwable e) {
+            discard(file, channel);
+            throw e;
+        }
+        spillCount++;
+        bytesWritten += length;
+        diskKeys += size;
+        size = 0;
+        if (runHeapSize > maxRuns) mergeSmallestRuns();
+    }
+
+    private void addRun(Run run) {
+        if (runHeapSize == runHeap.length) runHeap = Arrays.copyOf(runHeap, runHeapSize * 2);
+        runHeap[runHeapSize] = run;
+        siftUp(runHeap, runHeapSize++);
+    }
+
+    /**
+     * Merges the maxRuns / 2 + 1 runs with the fewest keys left into one new run.
+     * Merging the small ones first makes runs grow geometrically, like a size-tiered
+     * merge: each key is rewritten about log(n / memoryBudget) / log(maxRuns / 2) times.
+     * The input runs stay open until the merged run is complete, so a failed merge
+     * deletes its partial output and resets them to their marked heads.
+     */
+    private void mergeSmallestRuns() {
+        Run[] open = Arrays.copyOf(runHeap, runHeapSize);
+        Arrays.sort(open, Comparator.comparingLong(Run::remaining));
+        int fanIn = maxRuns / 2 + 1;
+
+        // The other runs form the new run heap
+        Arrays.fill(runHeap, null);
+        runHeapSize = 0;
+        for (int i = fanIn; i < open.length; i++) addRun(open[i]);
+
+        Run[] merging = Arrays.copyOf(open, fanIn);
+        for (Run run : merging) run.mark();
+        for (int i = fanIn / 2 - 1; i >= 0; i--) siftDown(merging, fanIn, i);
+        int remaining = fanIn;
+        Path file = null;
+        FileChannel channel = null;
+        try {
+            file = Files.createTempFile(spillDir, "epq-run-", ".bin");
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // Streamed through a buffer: merged runs may exceed the 2 GB mapping limit
+            ByteBuffer out = ByteBuffer.allocate(windowBytes);
+            long length = 0;
+            while (remaining > 0) {
+                Run run = merging[0];
+                out.putInt(run.head);
+                if (!out.hasRemaining()) length += flush(channel, out);
+                if (!run.advance()) {
+                    // Exhausted runs move behind the heap, still open
+                    merging[0] = merging[--remaining];
+                    merging[remaining] = run;
+                }
+                siftDown(merging, remaining, 0);
+            }
+            length += flush(channel, out);
+
+            Run merged = new Run(file, channel, length);
+            merged.advance();
+            addRun(merged);
+            bytesWritten += length;
+        } catch (IOException e) {
+            restore(merging, file, channel, e);
+            throw new UncheckedIOException(e);
+        } catch (Throwable e) {
+            restore(merging, file, channel, e);
+            throw e;
+        }
+        for (Run run : merging) run.close();
+        mergeCount++;
+    }
+
+    // Undoes a failed merge: deletes its output and puts the input runs back at their marks
+    private void restore(Run[] merging, Path file, FileChannel channel, Throwable cause) {
+        discard(file, channel);
+        try {
+            for (Run run : merging) {
+                run.reset();
+                addRun(run);
+            }
+        } catch (IOException e) {
+            e.addSuppressed(cause);
+            for (Run run : merging) run.close();
+            throw fail(e);
+        }
+    }
+
+    // Closes and deletes a run file that was not completed; file and channel may be null
+    private static void discard(Path file, FileChannel channel) {
+        try {
+            if (channel != null) channel.close();
+            if (file != null) Files.deleteIfExists(file);
+        } catch (IOException e) {
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    private static int flush(FileChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        int length = out.remaining();
+        while (out.hasRemaining()) channel.write(out);
+        out.clear();
+        return length;
+    }
+
+    private static void siftUp(Run[] runs, int i) {
+        Run run = runs[i];
+        while (i != 0 && runs[(i - 1) / 2].head > run.head) {
+            runs[i] = runs[(i - 1) / 2];
+            i = (i - 1) / 2;
+        }
+        runs[i] = run;
+    }
+
+    private static void siftDown(Run[] runs, int size, int i) {
+        if (size == 0) return;
+        Run run = runs[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && runs[child + 1].head < runs[child].head) child++;
+            if (runs[child].head >= run.head) break;
+            runs[i] = runs[child];
+            i = child;
+        }
+        runs[i] = run;
+    }
+
+    // Test driver
+    public static void main(String[] args) {
+        int n = 2_000_000;
+        Random random = new Random(42);
+        try (ExternalPriorityQueue queue = new ExternalPriorityQueue(250_000)) {
+            for (int i = 0; i < n; i++) {
+                queue.insert(random.nextInt());
+            }
+
+            int previous = Integer.MIN_VALUE;
+            boolean ordered = true;
+            while (!queue.isEmpty()) {
+                int value = queue.extractMin();
+                if (value < previous) ordered = false;
+                previous = value;
+            }
+
+            System.out.println("Extracted " + n + " keys in order: " + ordered);
+            System.out.println("Runs spilled: " + queue.getSpillCount()
+                + ", bytes written: " + queue.getBytesWritten()
+                + ", bytes read: " + queue.getBytesRead());
+        }
+
+        // Many small spills: merges keep the number of open run files bounded
+        Path dir = Paths.get(System.getProperty("java.io.tmpdir"));
+        try (ExternalPriorityQueue queue = new ExternalPriorityQueue(10_000, 64 * 1024, 16, dir)) {
+            int maxOpen = 0;
+            for (int i = 0; i < n; i++) {
+                queue.insert(random.nextInt());
+                maxOpen = Math.max(maxOpen, queue.getRunsOnDisk());
+            }
+
+            int previous = Integer.MIN_VALUE;
+            boolean ordered = true;
+            long extracted = 0;
+            while (!queue.isEmpty()) {
+                int value = queue.extractMin();
+                if (value < previous) ordered = false;
+                previous = value;
+                extracted++;
+            }
+            System.out.println("Extracted " + extracted + " keys in order: " + ordered + " with at most " + maxOpen
+                + " runs open (" + queue.getSpillCount() + " spills, " + queue.getMergeCount() + " merges, "
+                + queue.getBytesWritten() / n + " bytes written per key)");
+        }
+    }
+}
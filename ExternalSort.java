@@ -0,0 +1,356 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * External merge sort for binary files of big-endian ints (e.g. shipment-id dumps)
+ * that do not fit in the heap.
+ * 1. The input is read through a FileChannel in chunks of at most memoryBudget
+ *    ints; each chunk is sorted in place with DeliveryRouteOptimization.hybridSort
+ *    and written out as a sorted run.
+ * 2. Runs are merged up to maxFanIn at a time with a primitive loser tree
+ *    (one comparison per tree level per key); more runs take extra passes.
+ * 3. The final merge writes to the output file through mapped windows.
+ * Bytes moved and throughput of the last sort are kept for reporting.
+ */
+public class ExternalSort {
+    private static final int DEFAULT_BUFFER_BYTES = 1 << 20;     // Per-run read buffer
+    private static final int OUTPUT_WINDOW_BYTES = 64 << 20;     // Mapped output window
+
+    private final int memoryBudget;     // Ints sorted in memory at once
+    private final int bufferBytes;
+    private final int maxFanIn;
+    private final Path tempDir;
+
+    // Statistics of the last sort
+    private long bytesRead;
+    private long bytesWritten;
+    private int runsCreated;
+    private int mergePasses;
+    private long elapsedNanos;
+
+    public ExternalSort(int memoryBudget) {
+        this(memoryBudget, DEFAULT_BUFFER_BYTES, 128, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * @param memoryBudget Maximum number of ints held in memory for one run
+     * @param bufferBytes Read/write buffer per open file
+     * @param maxFanIn Maximum number of runs merged in one pass
+     * @param tempDir Directory for the run files
+     */
+    public ExternalSort(int memoryBudget, int bufferBytes, int maxFanIn, Path tempDir) {
+        if (memoryBudget <= 0) throw new IllegalArgumentException("Invalid memory budget: " + memoryBudget);
+        if (bufferBytes < Integer.BYTES) throw new IllegalArgumentException("Invalid buffer size: " + bufferBytes);
+        if (maxFanIn < 2) throw new IllegalArgumentException("Fan-in must be at least 2: " + maxFanIn);
+        this.memoryBudget = memoryBudget;
+        this.bufferBytes = bufferBytes - bufferBytes % Integer.BYTES; // Ints never straddle two buffers
+        this.maxFanIn = maxFanIn;
+        this.tempDir = tempDir;
+    }
+
+    /**
+     * Sorts the ints in input into output (created or overwritten)
+     */
+    public void sort(Path input, Path output) throws IOException {
+        bytesRead = bytesWritten = 0;
+        runsCreated = mergePasses = 0;
+        long start = System.nanoTime();
+
+        List<Path> runs = new ArrayList<>();
+        try {
+            long totalInts = createRuns(input, runs);
+            // Intermediate passes until one final merge is enough
+            while (runs.size() > maxFanIn) {
+                List<Path> merged = new ArrayList<>();
+                try {
+                    for (int from = 0; from < runs.size(); from += maxFanIn) {
+                        List<Path> group = runs.subList(from, Math.min(from + maxFanIn, runs.size()));
+                        Path run = Files.createTempFile(tempDir, "xsort-run-", ".bin");
+                        merged.add(run);
+                        try (FileChannel out = FileChannel.open(run, StandardOpenOption.WRITE)) {
+                            merge(group, new ChannelSink(out));
+                        }
+                        deleteAll(group);
+                    }
+                } catch (Throwable e) {
+                    // The finally below only sees runs, so this pass's outputs are removed here
+                    deleteAll(merged);
+                    throw e;
+                }
+                runs = merged;
+                mergePasses++;
+            }
+            try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                merge(runs, new MappedSink(out, totalInts * Integer.BYTES));
+            }
+            mergePasses++;
+        } finally {
+            deleteAll(runs);
+        }
+        elapsedNanos = System.nanoTime() - start;
+    }
+
+    public long getBytesRead() { return bytesRead; }
+    public long getBytesWritten() { return bytesWritten; }
+    public int getRunsCreated() { return runsCreated; }
+    public int getMergePasses() { return mergePasses; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    // Total I/O of the last sort in MB per second
+    public double throughputMBps() {
+        if (elapsedNanos == 0) return 0;
+        return (bytesRead + bytesWritten) / 1e6 / (elapsedNanos / 1e9);
+    }
+
+    public String report() {
+        return String.format("%d runs, %d merge passes, %.1f MB read, %.1f MB written in %d ms (%.1f MB/s)",
+            runsCreated, mergePasses, bytesRead / 1e6, bytesWritten / 1e6,
+            elapsedNanos / 1_000_000, throughputMBps());
+    }
+
+    // ===================== Run creation =====================
+
+    private long createRuns(Path input, List<Path> runs) throws IOException {
+        long total = 0;
+        int[] chunk = new int[(int) Math.min(memoryBudget, Math.max(1, Files.size(input) / Integer.BYTES))];
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bufferBytes);
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            if (in.size() % Integer.BYTES != 0) {
+                throw new IllegalArgumentException("Input is not a whole number of ints: " + input);
+            }
+            buffer.limit(0);
+            while (true) {
+                int count = 0;
+                while (count < chunk.length) {
+                    if (!buffer.hasRemaining() && !fill(in, buffer)) break;
+                    int take = Math.min(chunk.length - count, buffer.remaining() / Integer.BYTES);
+                    buffer.asIntBuffer().get(chunk, count, take);
+                    buffer.position(buffer.position() + take * Integer.BYTES);
+                    count += take;
+                }
+                if (count == 0) break;
+
+                DeliveryRouteOptimization.hybridSort(chunk, 0, count);
+                Path run = Files.createTempFile(tempDir, "xsort-run-", ".bin");
+                runs.add(run);
+                try (FileChannel out = FileChannel.open(run, StandardOpenOption.WRITE)) {
+                    ChannelSink sink = new ChannelSink(out);
+                    for (int i = 0; i < count; i++) sink.put(chunk[i]);
+                    sink.flush();
+                }
+                runsCreated++;
+                total += count;
+                if (count < chunk.length) break;
+            }
+        }
+        return total;
+    }
+
+    // Refill buffer from the channel; false at end of file
+    private boolean fill(FileChannel in, ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            int read = in.read(buffer);
+            if (read < 0) break;
+            bytesRead += read;
+        }
+        buffer.flip();
+        return buffer.hasRemaining();
+    }
+
+    // ===================== k-way merge =====================
+
+    // Sequential reader over one sorted run
+    private class RunReader implements Closeable {
+        final FileChannel channel;
+        final ByteBuffer buffer;
+        long head;                  // Current key, Long.MAX_VALUE once exhausted
+
+        RunReader(Path run, int bytes) throws IOException {
+            channel = FileChannel.open(run, StandardOpenOption.READ);
+            buffer = ByteBuffer.allocateDirect(bytes);
+            buffer.limit(0);
+            advance();
+        }
+
+        void advance() throws IOException {
+            if (!buffer.hasRemaining() && !fill(channel, buffer)) {
+                head = Long.MAX_VALUE;
+                return;
+            }
+            head = buffer.getInt();
+        }
+
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private void merge(List<Path> runs, Sink sink) throws IOException {
+        int k = runs.size();
+        RunReader[] readers = new RunReader[k];
+        int perRun = Math.max(Integer.BYTES, (bufferBytes / Math.max(1, k / 8)) & -Integer.BYTES);
+        try {
+            for (int i = 0; i < k; i++) readers[i] = new RunReader(runs.get(i), perRun);
+            if (k == 0) {
+                sink.flush();
+                return;
+            }
+
+            // Loser tree: tree[1..k-1] hold the losers of each match, tree[0] the overall winner.
+            // Leaf i sits at position k + i, so the tree works for any k.
+            int[] tree = new int[k];
+            int[] winners = new int[2 * k];
+            for (int i = 0; i < k; i++) winners[k + i] = i;
+            for (int p = k - 1; p >= 1; p--) {
+                int a = winners[2 * p], b = winners[2 * p + 1];
+                if (readers[a].head <= readers[b].head) {
+                    winners[p] = a;
+                    tree[p] = b;
+                } else {
+                    winners[p] = b;
+                    tree[p] = a;
+                }
+            }
+            int winner = k == 1 ? 0 : winners[1];
+
+            while (readers[winner].head != Long.MAX_VALUE) {
+                RunReader source = readers[winner];
+                sink.put((int) source.head);
+                source.advance();
+
+                // Replay the matches on the path from the winner's leaf to the root
+                long key = source.head;
+                for (int p = (winner + k) >>> 1; p >= 1; p >>>= 1) {
+                    int opponent = tree[p];
+                    if (readers[opponent].head < key) {
+                        tree[p] = winner;
+                        winner = opponent;
+                        key = readers[opponent].head;
+                    }
+                }
+            }
+            sink.flush();
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) reader.close();
+            }
+        }
+    }
+
+    // ===================== Output =====================
+
+    private interface Sink {
+        void put(int value) throws IOException;
+        void flush() throws IOException;
+    }
+
+    // Buffered sequential writes, used for runs
+    private class ChannelSink implements Sink {
+        final FileChannel channel;
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(bufferBytes);
+
+        ChannelSink(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        public void put(int value) throws IOException {
+            if (!buffer.hasRemaining()) flush();
+            buffer.putInt(value);
+        }
+
+        public void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) bytesWritten += channel.write(buffer);
+            buffer.clear();
+        }
+    }
+
+    // Writes through consecutive mapped windows of the final output file
+    private class MappedSink implements Sink {
+        final FileChannel channel;
+        final long length;
+        long position;
+        MappedByteBuffer window;
+
+        MappedSink(FileChannel channel, long length) {
+            this.channel = channel;
+            this.length = length;
+        }
+
+        public void put(int value) throws IOException {
+            if (window == null || !window.hasRemaining()) {
+                if (window != null) window.force();
+                long size = Math.min(OUTPUT_WINDOW_BYTES, length - position);
+                window = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+                position += size;
+                bytesWritten += size;
+            }
+            window.putInt(value);
+        }
+
+        public void flush() {
+            if (window != null) window.force();
+            window = null;
+        }
+    }
+
+    private static void deleteAll(List<Path> files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    // Test driver
+    public static void main(String[] args) throws IOException {
+        int n = 20_000_000;
+        Path input = Files.createTempFile("shipments-", ".bin");
+        Path output = Files.createTempFile("shipments-sorted-", ".bin");
+        try {
+            // Nightly dump stand-in: n random shipment ids
+            Random random = new Random(42);
+            try (FileChannel out = FileChannel.open(input, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(DEFAULT_BUFFER_BYTES);
+                for (int i = 0; i < n; i++) {
+                    if (!buffer.hasRemaining()) {
+                        buffer.flip();
+                        while (buffer.hasRemaining()) out.write(buffer);
+                        buffer.clear();
+                    }
+                    buffer.putInt(random.nextInt());
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) out.write(buffer);
+            }
+
+            // 1M ints (4 MB) in memory at a time, merged 16 runs per pass
+            ExternalSort sorter = new ExternalSort(1_000_000, DEFAULT_BUFFER_BYTES, 16, input.getParent());
+            sorter.sort(input, output);
+            System.out.println("Sorted " + n + " ids: " + sorter.report());
+
+            boolean ordered = true;
+            try (FileChannel in = FileChannel.open(output, StandardOpenOption.READ)) {
+                MappedByteBuffer sorted = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+                int previous = Integer.MIN_VALUE;
+                for (long i = 0; i < in.size() / Integer.BYTES; i++) {
+                    int value = sorted.getInt();
+                    if (value < previous) ordered = false;
+                    previous = value;
+                }
+                System.out.println("Output holds " + in.size() / Integer.BYTES + " ids in order: " + ordered);
+            }
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+        }
+    }
+}
@@ -2,7 +2,17 @@ import java.awt.*;
 import java.awt.event.*;
 import javax.swing.*;
 import javax.swing.border.*;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -13,6 +23,11 @@ import java.util.stream.Collectors;
  * - Dynamic Programming (TSP)
  * - Backtracking (TSP)
  * - Array operations (Insert/Sort/Search)
+ * - Performance history of solver runs (PerformanceDashboard)
+ * - Tour view: 2-opt on thousands of random stops, drawn live by a TourCanvas
+ * Every action runs on a SwingWorker thread: the window stays responsive, the
+ * run control panel shows progress, and runs can be cancelled or bounded by a
+ * time budget. Solvers publish each improving tour while they search.
  */
 public class Gui implements ActionListener {
     // GUI Components
@@ -22,8 +37,27 @@ public class Gui implements ActionListener {
     private JButton greedyButton, dncButton, dynamicButton, backtrackingButton, 
     insertButton, resetButton, sortButton, searchButton;
 
+    // Run control: instance selection, time budget, progress and cancellation
+    private JPanel panelRun;
+    private JLabel instanceLabel, statusLabel;
+    private JButton loadButton, randomButton, tourButton, cancelButton, performanceButton;
+    private JSpinner budgetSpinner;
+    private JProgressBar progressBar;
+    private Timer progressTimer;
+    private Job<?> currentJob; // Only touched on the Event Dispatch Thread
+    private PerformanceDashboard dashboard; // History of every solver run
+
     private int[] userArray; // Stores user-provided array for operations
 
+    // Instance the route solvers run on, the built-in demo until one is loaded
+    private int[][] distances = DeliveryRouteOptimization.distanceMatrix;
+    private String[] names = DeliveryRouteOptimization.locations;
+    private int instanceNumber = 1; // Identifies the instance in the performance history
+
+    private static final int MAX_RANDOM_LOCATIONS = 2000;
+    private static final int MAX_TOUR_STOPS = 200_000;
+    private static final int PREVIEW_LENGTH = 20; // Values shown for large arrays
+
     public Gui() {
         initializeGUI();
         setupEventListeners();
@@ -95,8 +129,42 @@ public class Gui implements ActionListener {
         panelArray.add(outputArray);
         panelArray.add(panelArrayOperation);
 
+        // Run Control Panel (left column)
+        panelRun = new JPanel(new GridLayout(0, 1, 0, 4));
+        panelRun.setBounds(5, 255, 190, 500);
+        panelRun.setBorder(BorderFactory.createTitledBorder("Run Control"));
+        instanceLabel = new JLabel("", SwingConstants.CENTER);
+        loadButton = new JButton("Load Instance...");
+        randomButton = new JButton("Random Instance...");
+        tourButton = new JButton("Tour View...");
+        budgetSpinner = new JSpinner(new SpinnerNumberModel(10, 0, 3600, 1));
+        JPanel budgetPanel = new JPanel(new BorderLayout(4, 0));
+        budgetPanel.add(new JLabel("Budget (s):"), BorderLayout.WEST);
+        budgetPanel.add(budgetSpinner, BorderLayout.CENTER);
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        statusLabel = new JLabel("Idle", SwingConstants.CENTER);
+        cancelButton = new JButton("Cancel");
+        cancelButton.setEnabled(false);
+        performanceButton = new JButton("Performance...");
+        dashboard = new PerformanceDashboard();
+
+        panelRun.add(instanceLabel);
+        panelRun.add(loadButton);
+        panelRun.add(randomButton);
+        panelRun.add(tourButton);
+        panelRun.add(budgetPanel);
+        panelRun.add(progressBar);
+        panelRun.add(statusLabel);
+        panelRun.add(cancelButton);
+        panelRun.add(performanceButton);
+        updateInstanceLabel();
+
+        progressTimer = new Timer(100, e -> updateProgress());
+
         // Add all components to frame
         frame.add(panel1);
+        frame.add(panelRun);
         frame.add(panelGreedy);
         frame.add(panelDnc);
         frame.add(panelDynamic);
@@ -129,37 +197,56 @@ public class Gui implements ActionListener {
         resetButton.addActionListener(this);
         sortButton.addActionListener(this);
         searchButton.addActionListener(this);
+        loadButton.addActionListener(this);
+        randomButton.addActionListener(this);
+        tourButton.addActionListener(this);
+        cancelButton.addActionListener(this);
+        performanceButton.addActionListener(this);
     }
 
     /**
      * Main event handler for all button actions
      */
     public void actionPerformed(ActionEvent e) {
+        // Snapshot of the instance, the solver threads never see later changes
+        int[][] dist = distances;
+        String[] stops = names;
+
         // Greedy TSP Algorithm
         if (e.getSource() == greedyButton) {
-            String result = DeliveryRouteOptimization.greedyTSP(
-                    DeliveryRouteOptimization.distanceMatrix, 
-                    DeliveryRouteOptimization.locations
-                );
-            greedyOutput.setText(result);
+            runSolver("Greedy", greedyOutput,
+                monitor -> DeliveryRouteOptimization.greedyTSP(dist, stops, monitor));
         }
         // Backtracking TSP Algorithm
         else if (e.getSource() == backtrackingButton) {
-            String result = DeliveryRouteOptimization.backtrackingTSP(
-                    DeliveryRouteOptimization.distanceMatrix
-                );
-            backtrackingOutput.setText(result);
+            runSolver("Backtracking", backtrackingOutput,
+                monitor -> DeliveryRouteOptimization.backtrackingTSP(dist, stops, monitor));
         }
         // Dynamic Programming TSP
         else if (e.getSource() == dynamicButton) {
-            String result = DeliveryRouteOptimization.dynamicProgrammingTSP(
-                    DeliveryRouteOptimization.distanceMatrix
-                );
-            dynamicOutput.setText(result);
+            runSolver("Dynamic programming", dynamicOutput,
+                monitor -> DeliveryRouteOptimization.dynamicProgrammingTSP(dist, stops, monitor));
         }
         // Divide and Conquer
         else if (e.getSource() == dncButton) {
-            DivideAndConquer.main(new String[]{});
+            runSolver("Divide and conquer", dncOutput,
+                monitor -> DivideAndConquer.solve(dist, stops, monitor));
+        }
+        // Run control
+        else if (e.getSource() == cancelButton) {
+            if (currentJob != null) currentJob.stop();
+        }
+        else if (e.getSource() == performanceButton) {
+            dashboard.show();
+        }
+        else if (e.getSource() == loadButton) {
+            handleLoadInstance();
+        }
+        else if (e.getSource() == randomButton) {
+            handleRandomInstance();
+        }
+        else if (e.getSource() == tourButton) {
+            handleTourView();
         }
         // Array Insert Operation
         else if (e.getSource() == insertButton) {
@@ -180,37 +267,65 @@ public class Gui implements ActionListener {
     }
 
     /**
-     * Handles array insertion with input validation
+     * Handles array insertion: numbers are typed or pasted (comma or line separated),
+     * or read from a file, and parsed by the streaming IntArrayParser
      */
     private void handleArrayInsert() {
-        String input = JOptionPane.showInputDialog(
+        JTextArea text = new JTextArea(8, 40);
+        text.setLineWrap(true);
+        Object[] options = {"Create", "Load File...", "Cancel"};
+        int choice = JOptionPane.showOptionDialog(
                 null,
-                "Enter numbers separated by commas:\nExample: 5,3,9,2",
+                new Object[]{"Enter numbers separated by commas or new lines:\nExample: 5,3,9,2", new JScrollPane(text)},
                 "Create New Array",
-                JOptionPane.PLAIN_MESSAGE
+                JOptionPane.DEFAULT_OPTION,
+                JOptionPane.PLAIN_MESSAGE,
+                null,
+                options,
+                options[0]
             );
 
-        if (input != null && !input.trim().isEmpty()) {
-            try {
-                userArray = Arrays.stream(input.split(","))
-                .map(String::trim)
-                .mapToInt(Integer::parseInt)
-                .toArray();
+        if (choice == 0) {
+            String input = text.getText();
+            if (input.trim().isEmpty()) return;
+            createArray("Parsing array", monitor -> IntArrayParser.parse(input));
+        } else if (choice == 1) {
+            JFileChooser chooser = new JFileChooser(".");
+            if (chooser.showOpenDialog(frame) != JFileChooser.APPROVE_OPTION) return;
+            File file = chooser.getSelectedFile();
+            createArray("Loading " + file.getName(), monitor -> IntArrayParser.parse(file.toPath()));
+        }
+    }
 
+    private void createArray(String title, Task<int[]> parser) {
+        runTask(title, false, parser,
+            parsed -> {
+                if (parsed.length == 0) {
+                    showErrorDialog("No numbers found!\nExample: 5,3,9,2");
+                    return;
+                }
+                userArray = parsed;
                 JOptionPane.showMessageDialog(
                     null,
-                    "New array created:\n" + Arrays.toString(userArray),
+                    "New array created:\n" + preview(userArray),
                     "Success",
                     JOptionPane.INFORMATION_MESSAGE
                 );
 
-                outputArray.setText("Current Array: " + Arrays.toString(userArray));
+                outputArray.setText("Current Array: " + preview(userArray));
                 searchButton.setVisible(false); // Reset search until new sort
+            },
+            error -> showErrorDialog(error instanceof NumberFormatException
+                ? "Invalid input. Only numbers allowed!\n" + error.getMessage()
+                : error.getMessage()));
+    }
 
-            } catch (NumberFormatException ex) {
-                showErrorDialog("Invalid input. Only numbers allowed!\nExample: 5,3,9,2");
-            }
-        }
+    // Short text for arrays of any size: the first values and the total count
+    private static String preview(int[] array) {
+        if (array.length <= PREVIEW_LENGTH) return Arrays.toString(array);
+        StringBuilder text = new StringBuilder("[");
+        for (int i = 0; i < PREVIEW_LENGTH; i++) text.append(array[i]).append(", ");
+        return text.append("... ] (").append(array.length).append(" numbers)").toString();
     }
 
     /**
@@ -240,12 +355,44 @@ public class Gui implements ActionListener {
             return;
         }
 
-        DeliveryRouteOptimization.insertionSort(userArray);
-        String sortedResult = Arrays.toString(userArray);
+        DeliveryRouteOptimization.SortAlgorithm algorithm = (DeliveryRouteOptimization.SortAlgorithm) JOptionPane.showInputDialog(
+                null,
+                "Choose sorting algorithm:",
+                "Sort Array",
+                JOptionPane.QUESTION_MESSAGE,
+                null,
+                DeliveryRouteOptimization.SortAlgorithm.values(),
+                DeliveryRouteOptimization.SortAlgorithm.HYBRID
+            );
+        if (algorithm == null) return; // Cancelled
+
+        // Skip the sort entirely for input that is already in order
+        boolean alreadySorted = isSorted(userArray);
+        if (alreadySorted) {
+            showSorted(true);
+            return;
+        }
+
+        // Sort a copy, so a cancelled sort leaves the current array untouched
+        int[] copy = userArray.clone();
+        runTask("Sorting " + copy.length + " numbers", false,
+            monitor -> {
+                DeliveryRouteOptimization.sort(copy, algorithm);
+                return copy;
+            },
+            sorted -> {
+                userArray = sorted;
+                showSorted(false);
+            },
+            error -> showErrorDialog(error.getMessage()));
+    }
+
+    private void showSorted(boolean alreadySorted) {
+        String sortedResult = preview(userArray);
 
         outputArray.setText("Sorted: " + sortedResult);
         JOptionPane.showMessageDialog(null,
-            "Array sorted successfully!",
+            alreadySorted ? "Array is already sorted!" : "Array sorted successfully!",
             "Success",
             JOptionPane.INFORMATION_MESSAGE);
 
@@ -273,23 +420,335 @@ public class Gui implements ActionListener {
             return;
         }
 
+        int target;
         try {
-            int target = Integer.parseInt(input.trim());
-            int result = DeliveryRouteOptimization.binarySearch(userArray, target);
-
-            if (result != -1) {
-                JOptionPane.showMessageDialog(null,
-                    "Number " + target + " found at index: " + result,
-                    "Search Result",
-                    JOptionPane.INFORMATION_MESSAGE);
-            } else {
-                JOptionPane.showMessageDialog(null,
-                    "Number " + target + " not found in the array.",
-                    "Search Result",
-                    JOptionPane.WARNING_MESSAGE);
-            }
+            target = Integer.parseInt(input.trim());
         } catch (NumberFormatException ex) {
             showErrorDialog("Invalid number format! Please enter a valid integer.");
+            return;
+        }
+
+        int[] sorted = userArray;
+        runTask("Searching", false,
+            monitor -> DeliveryRouteOptimization.binarySearch(sorted, target),
+            result -> {
+                if (result != -1) {
+                    JOptionPane.showMessageDialog(null,
+                        "Number " + target + " found at index: " + result,
+                        "Search Result",
+                        JOptionPane.INFORMATION_MESSAGE);
+                } else {
+                    JOptionPane.showMessageDialog(null,
+                        "Number " + target + " not found in the array.",
+                        "Search Result",
+                        JOptionPane.WARNING_MESSAGE);
+                }
+            },
+            error -> showErrorDialog(error.getMessage()));
+    }
+
+    /**
+     * Loads a distance matrix: one row per line, values separated by commas or spaces.
+     * An optional first line of names labels the locations.
+     */
+    private void handleLoadInstance() {
+        JFileChooser chooser = new JFileChooser(".");
+        if (chooser.showOpenDialog(frame) != JFileChooser.APPROVE_OPTION) return;
+        File file = chooser.getSelectedFile();
+
+        runTask("Loading " + file.getName(), false,
+            monitor -> parseInstance(Files.readAllLines(file.toPath())),
+            instance -> setInstance(instance.dist, instance.names),
+            error -> showErrorDialog("Could not load instance:\n" + error.getMessage()));
+    }
+
+    /**
+     * Generates random locations on a 1000 x 1000 km grid with rounded Euclidean distances
+     */
+    private void handleRandomInstance() {
+        String input = JOptionPane.showInputDialog(frame,
+            "Number of locations (2 - " + MAX_RANDOM_LOCATIONS + "):", "Random Instance", JOptionPane.QUESTION_MESSAGE);
+        if (input == null) return;
+
+        int n;
+        try {
+            n = Integer.parseInt(input.trim());
+        } catch (NumberFormatException ex) {
+            showErrorDialog("Invalid number format! Please enter a valid integer.");
+            return;
+        }
+        if (n < 2 || n > MAX_RANDOM_LOCATIONS) {
+            showErrorDialog("Number of locations must be between 2 and " + MAX_RANDOM_LOCATIONS + ".");
+            return;
+        }
+
+        runTask("Generating " + n + " locations", false,
+            monitor -> randomInstance(n, new Random()),
+            instance -> setInstance(instance.dist, instance.names),
+            error -> showErrorDialog(error.getMessage()));
+    }
+
+    /**
+     * Opens a zoomable view of a random Euclidean instance and runs 2-opt on it;
+     * every improving move is drawn while the search runs
+     */
+    private void handleTourView() {
+        String input = JOptionPane.showInputDialog(frame,
+            "Number of stops (4 - " + MAX_TOUR_STOPS + "):", "10000");
+        if (input == null) return;
+
+        int n;
+        try {
+            n = Integer.parseInt(input.trim());
+        } catch (NumberFormatException ex) {
+            showErrorDialog("Invalid number format! Please enter a valid integer.");
+            return;
+        }
+        if (n < 4 || n > MAX_TOUR_STOPS) {
+            showErrorDialog("Number of stops must be between 4 and " + MAX_TOUR_STOPS + ".");
+            return;
+        }
+
+        TourCanvas canvas = new TourCanvas();
+        JFrame viewer = new JFrame("DROP - Tour of " + n + " stops");
+        viewer.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        viewer.add(canvas);
+        viewer.pack();
+        viewer.setLocationRelativeTo(frame);
+        viewer.setVisible(true);
+
+        Job<String> job = runTask("2-opt on " + n + " stops", true,
+            monitor -> {
+                EuclideanTour instance = EuclideanTour.random(n, new Random());
+                int[] tour = instance.nearestNeighbourTour();
+                double greedy = instance.length(tour);
+                canvas.setTour(instance.getX(), instance.getY(), tour);
+                int moves = instance.twoOpt(tour, monitor, canvas::reverse);
+                return String.format("nearest neighbour %.0f km, 2-opt %.0f km after %d moves", greedy, instance.length(tour), moves);
+            },
+            summary -> viewer.setTitle("DROP - Tour of " + n + " stops: " + summary),
+            error -> showErrorDialog(error.getMessage()));
+
+        // Closing the view ends its search and its render thread
+        viewer.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                job.stop();
+                canvas.dispose();
+            }
+        });
+    }
+
+    private void setInstance(int[][] dist, String[] stops) {
+        distances = dist;
+        names = stops;
+        instanceNumber++;
+        updateInstanceLabel();
+        greedyOutput.setText("");
+        dncOutput.setText("");
+        dynamicOutput.setText("");
+        backtrackingOutput.setText("");
+    }
+
+    private void updateInstanceLabel() {
+        instanceLabel.setText("Instance: " + names.length + " locations");
+    }
+
+    // Distance matrix plus location names
+    private static class Instance {
+        final int[][] dist;
+        final String[] names;
+
+        Instance(int[][] dist, String[] names) {
+            this.dist = dist;
+            this.names = names;
+        }
+    }
+
+    private static Instance parseInstance(List<String> lines) {
+        List<String[]> rows = new ArrayList<>();
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty()) continue;
+            // Comma or semicolon separated when present, so names may contain spaces
+            rows.add(trimmed.split(trimmed.matches(".*[,;].*") ? "\\s*[,;]\\s*" : "\\s+"));
+        }
+        if (rows.isEmpty()) throw new IllegalArgumentException("File is empty");
+
+        String[] header = null;
+        try {
+            Integer.parseInt(rows.get(0)[0]);
+        } catch (NumberFormatException ex) {
+            header = rows.remove(0); // First line holds the names
+        }
+
+        int n = rows.size();
+        int[][] dist = new int[n][];
+        for (int i = 0; i < n; i++) {
+            if (rows.get(i).length != n) {
+                throw new IllegalArgumentException("Row " + (i + 1) + " has " + rows.get(i).length + " values, expected " + n);
+            }
+            dist[i] = Arrays.stream(rows.get(i)).mapToInt(Integer::parseInt).toArray();
+        }
+
+        String[] stops = new String[n];
+        for (int i = 0; i < n; i++) {
+            stops[i] = (header != null && i < header.length) ? header[i] : "Location " + (i + 1);
+        }
+        return new Instance(dist, stops);
+    }
+
+    private static Instance randomInstance(int n, Random random) {
+        int[] x = new int[n], y = new int[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = random.nextInt(1000);
+            y[i] = random.nextInt(1000);
+        }
+        int[][] dist = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                dist[i][j] = dist[j][i] = (int) Math.round(Math.hypot(x[i] - x[j], y[i] - y[j]));
+            }
+        }
+        String[] stops = new String[n];
+        stops[0] = "Warehouse";
+        for (int i = 1; i < n; i++) stops[i] = "Stop " + i;
+        return new Instance(dist, stops);
+    }
+
+    // ===================== Background jobs =====================
+
+    // Work done off the Event Dispatch Thread
+    @FunctionalInterface
+    private interface Task<T> {
+        T run(DeliveryRouteOptimization.SolverMonitor monitor) throws Exception;
+    }
+
+    /**
+     * One Gui action running on a SwingWorker thread. Improving tours reported to the
+     * monitor are published to the output label while the task runs; the result is
+     * handed to onSuccess (or onError) back on the Event Dispatch Thread.
+     */
+    private class Job<T> extends SwingWorker<T, String> {
+        final String title;
+        final boolean pollsMonitor;    // Task stops by itself when the monitor says so
+        final Task<T> task;
+        final Consumer<T> onSuccess;
+        final Consumer<Throwable> onError;
+        final JLabel output;
+        final DeliveryRouteOptimization.SolverMonitor monitor;
+        final AtomicBoolean started = new AtomicBoolean();  // Claimed by the task, or by done() if cancelled first
+
+        Job(String title, boolean pollsMonitor, JLabel output, Task<T> task, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+            this.title = title;
+            this.pollsMonitor = pollsMonitor;
+            this.output = output;
+            this.task = task;
+            this.onSuccess = onSuccess;
+            this.onError = onError;
+            long budgetMillis = pollsMonitor ? ((Number) budgetSpinner.getValue()).longValue() * 1000 : 0;
+            this.monitor = new DeliveryRouteOptimization.SolverMonitor(budgetMillis,
+                (cost, route) -> publish("Best so far: " + route + " (" + cost + ")"));
+        }
+
+        // Solvers finish early with their best tour; other tasks are interrupted, and the
+        // actions stay disabled until their thread has really returned
+        void stop() {
+            monitor.cancel();
+            if (!pollsMonitor) cancel(true);
+        }
+
+        @Override
+        protected T doInBackground() throws Exception {
+            if (!started.compareAndSet(false, true)) return null; // Cancelled before it began
+            try {
+                return task.run(monitor);
+            } finally {
+                // done() runs as soon as a job is cancelled; only this marks the thread as free
+                SwingUtilities.invokeLater(() -> finishJob(this));
+            }
+        }
+
+        @Override
+        protected void process(List<String> improvements) {
+            if (output != null) output.setText(improvements.get(improvements.size() - 1));
+        }
+
+        @Override
+        protected void done() {
+            if (started.compareAndSet(false, true)) finishJob(this); // The task never ran
+            try {
+                T result = get();
+                statusLabel.setText(monitor.isCancelled() ? title + ": cancelled"
+                    : monitor.wasStopped() ? title + ": time budget reached" : title + ": done");
+                onSuccess.accept(result);
+            } catch (CancellationException ex) {
+                statusLabel.setText(currentJob == this ? title + ": stopping..." : title + ": cancelled");
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException ex) {
+                statusLabel.setText(title + ": failed");
+                onError.accept(ex.getCause());
+            }
+        }
+    }
+
+    // Route solver run: shows progress, improving tours and the final result in output,
+    // and adds its measurements to the performance dashboard
+    private void runSolver(String title, JLabel output, Function<DeliveryRouteOptimization.SolverMonitor, String> solver) {
+        output.setText("Running...");
+        int instance = instanceNumber, locations = names.length;
+        startJob(new Job<PerformanceDashboard.Run>(title, true, output,
+            monitor -> PerformanceDashboard.measure(title, instance, locations, monitor, solver),
+            run -> {
+                output.setText(run.getResult());
+                dashboard.record(run);
+            },
+            error -> {
+                output.setText("");
+                showErrorDialog(error.getMessage());
+            }));
+    }
+
+    private <T> Job<T> runTask(String title, boolean pollsMonitor, Task<T> task, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        Job<T> job = new Job<>(title, pollsMonitor, null, task, onSuccess, onError);
+        startJob(job);
+        return job;
+    }
+
+    // One job at a time: the action buttons are disabled until it finishes
+    private void startJob(Job<?> job) {
+        currentJob = job;
+        setActionsEnabled(false);
+        cancelButton.setEnabled(true);
+        statusLabel.setText(job.title + "...");
+        progressBar.setValue(0);
+        progressTimer.start();
+        job.execute();
+    }
+
+    private void finishJob(Job<?> job) {
+        if (currentJob != job) return;
+        currentJob = null;
+        progressTimer.stop();
+        progressBar.setIndeterminate(false);
+        progressBar.setValue(job.monitor.wasStopped() || job.isCancelled() ? progressBar.getValue() : 100);
+        cancelButton.setEnabled(false);
+        setActionsEnabled(true);
+        if (job.isCancelled()) statusLabel.setText(job.title + ": cancelled");
+    }
+
+    private void updateProgress() {
+        if (currentJob == null) return;
+        double progress = currentJob.monitor.getProgress();
+        progressBar.setIndeterminate(progress < 0);
+        if (progress >= 0) progressBar.setValue((int) Math.round(progress * 100));
+    }
+
+    private void setActionsEnabled(boolean enabled) {
+        for (JButton button : new JButton[]{greedyButton, dncButton, dynamicButton, backtrackingButton,
+                insertButton, resetButton, sortButton, searchButton, loadButton, randomButton, tourButton}) {
+            button.setEnabled(enabled);
         }
     }
 
@@ -66,22 +66,32 @@ public class Idham {
         }
 
         private SplayTreeNode root;
+        private final SplayTreeNode header = new SplayTreeNode(0); // Reused assembly-tree header for splay
 
         public SplayTree() {
             root = null;
         }
 
-        // Insert method with splaying
+        // Insert method with splaying: splay the nearest key to the root, then split around it
         public void insert(int key) {
-            root = insertRec(root, key);
-            root = splay(root, key); // Splay the newly inserted node to the root
-        }
+            if (root == null) {
+                root = new SplayTreeNode(key);
+                return;
+            }
+            root = splay(root, key);
+            if (root.key == key) return; // Duplicate key
 
-        private SplayTreeNode insertRec(SplayTreeNode root, int key) {
-            if (root == null) return new SplayTreeNode(key);
-            if (key < root.key) root.left = insertRec(root.left, key);
-            else if (key > root.key) root.right = insertRec(root.right, key);
-            return root;
+            SplayTreeNode newNode = new SplayTreeNode(key);
+            if (key < root.key) {
+                newNode.left = root.left;
+                newNode.right = root;
+                root.left = null;
+            } else {
+                newNode.right = root.right;
+                newNode.left = root;
+                root.right = null;
+            }
+            root = newNode;
         }
 
         // Search method with splaying
@@ -90,37 +100,64 @@ public class Idham {
             return root != null && root.key == key;
         }
 
-        // Splay operation
-        private SplayTreeNode splay(SplayTreeNode root, int key) {
-            if (root == null || root.key == key) return root;
+        // Delete method: splay the key to the root, then join its two subtrees
+        public boolean delete(int key) {
+            root = splay(root, key);
+            if (root == null || root.key != key) return false;
 
-            // Key is in the left subtree
-            if (key < root.key) {
-                if (root.left == null) return root; // Key not found
-                if (key < root.left.key) {
-                    // Zig-Zig (Left Left)
-                    root.left.left = splay(root.left.left, key);
-                    root = rotateRight(root);
-                } else if (key > root.left.key) {
-                    // Zig-Zag (Left Right)
-                    root.left.right = splay(root.left.right, key);
-                    if (root.left.right != null) root.left = rotateLeft(root.left);
-                }
-                return (root.left == null) ? root : rotateRight(root);
+            if (root.left == null) {
+                root = root.right;
             } else {
-                // Key is in the right subtree
-                if (root.right == null) return root; // Key not found
-                if (key > root.right.key) {
-                    // Zag-Zag (Right Right)
-                    root.right.right = splay(root.right.right, key);
-                    root = rotateLeft(root);
-                } else if (key < root.right.key) {
-                    // Zag-Zig (Right Left)
-                    root.right.left = splay(root.right.left, key);
-                    if (root.right.left != null) root.right = rotateRight(root.right);
+                SplayTreeNode right = root.right;
+                root = splay(root.left, key); // Largest key of the left subtree rises with no right child
+                root.right = right;
+            }
+            return true;
+        }
+
+        // Top-down splay (Sleator-Tarjan): iterative, constant stack space.
+        // Nodes smaller than key are hung on a left assembly tree, larger ones
+        // on a right assembly tree, and both are reattached under the new root.
+        private SplayTreeNode splay(SplayTreeNode root, int key) {
+            if (root == null) return null;
+            header.left = header.right = null;
+            SplayTreeNode leftMax = header, rightMin = header;
+            SplayTreeNode t = root;
+
+            while (true) {
+                if (key < t.key) {
+                    if (t.left == null) break;
+                    if (key < t.left.key) {
+                        // Zig-Zig (Left Left)
+                        t = rotateRight(t);
+                        if (t.left == null) break;
+                    }
+                    // Link right
+                    rightMin.left = t;
+                    rightMin = t;
+                    t = t.left;
+                } else if (key > t.key) {
+                    if (t.right == null) break;
+                    if (key > t.right.key) {
+                        // Zag-Zag (Right Right)
+                        t = rotateLeft(t);
+                        if (t.right == null) break;
+                    }
+                    // Link left
+                    leftMax.right = t;
+                    leftMax = t;
+                    t = t.right;
+                } else {
+                    break;
                 }
-                return (root.right == null) ? root : rotateLeft(root);
             }
+
+            // Assemble
+            leftMax.right = t.left;
+            rightMin.left = t.right;
+            t.left = header.right;
+            t.right = header.left;
+            return t;
         }
 
         // Right Rotation
@@ -139,19 +176,18 @@ public class Idham {
             return y;
         }
 
-        // Preorder Traversal
+        // Preorder Traversal (explicit stack, so degenerate trees cannot overflow the call stack)
         public void preOrder() {
             System.out.print("Tree (PreOrder): ");
-            preOrderRec(root);
-            System.out.println();
-        }
-
-        private void preOrderRec(SplayTreeNode node) {
-            if (node != null) {
+            Deque<SplayTreeNode> stack = new ArrayDeque<>();
+            if (root != null) stack.push(root);
+            while (!stack.isEmpty()) {
+                SplayTreeNode node = stack.pop();
                 System.out.print(node.key + " ");
-                preOrderRec(node.left);
-                preOrderRec(node.right);
+                if (node.right != null) stack.push(node.right);
+                if (node.left != null) stack.push(node.left);
             }
+            System.out.println();
         }
 
         public void demo() {
@@ -164,6 +200,9 @@ public class Idham {
             System.out.println("Splay Tree Search (10 found): " + found); // Output: true
 
             tree.preOrder(); // Display structure of the tree
+
+            tree.delete(20);
+            tree.preOrder(); // Tree after deleting 20
         }
     }
 
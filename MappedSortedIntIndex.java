@@ -0,0 +1,212 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-only lookups on a sorted binary file of big-endian ints (e.g. the output
+ * of ExternalSort) without loading it into the heap.
+ * The file is mapped read-only in segments of at most 1 GB, so files past the
+ * 2 GB mapping limit work and all processes mapping the same file share one
+ * copy in the page cache. Optionally every sampleEvery-th value is kept in a
+ * small in-heap array; a lookup first searches that array and then only one
+ * short stretch of the file, touching one or two pages instead of ~log2(n).
+ * Indices are longs because the file may hold more than 2^31 ints.
+ * Searches are read-only and may run from several threads at once.
+ */
+public class MappedSortedIntIndex implements Closeable {
+    private static final int SEGMENT_SHIFT = 28;                 // 2^28 ints = 1 GB per mapping
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long size;
+    private final int sampleEvery;      // 0 when there is no sparse index
+    private final int[] samples;        // samples[j] = get(j * sampleEvery)
+    private final LongAdder fileReads = new LongAdder(); // Values read from the mapping by searches, from any thread
+
+    public MappedSortedIntIndex(Path file) throws IOException {
+        this(file, 0);
+    }
+
+    /**
+     * @param file Sorted file of big-endian ints
+     * @param sampleEvery Keep every sampleEvery-th value in memory (0 for none);
+     *                    1024 keeps one value per 4 KB page
+     */
+    public MappedSortedIntIndex(Path file, int sampleEvery) throws IOException {
+        if (sampleEvery < 0) throw new IllegalArgumentException("Invalid sample rate: " + sampleEvery);
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        long bytes = channel.size();
+        if (bytes % Integer.BYTES != 0) {
+            channel.close();
+            throw new IllegalArgumentException("File is not a whole number of ints: " + file);
+        }
+        size = bytes / Integer.BYTES;
+
+        int count = (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        segments = new MappedByteBuffer[count];
+        for (int s = 0; s < count; s++) {
+            long start = ((long) s << SEGMENT_SHIFT) * Integer.BYTES;
+            segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(bytes - start, (SEGMENT_MASK + 1) * Integer.BYTES));
+        }
+
+        this.sampleEvery = sampleEvery;
+        if (sampleEvery > 0) {
+            long sampleCount = (size + sampleEvery - 1) / sampleEvery;
+            if (sampleCount > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Sample rate too small for " + size + " ints");
+            samples = new int[(int) sampleCount];
+            for (int j = 0; j < samples.length; j++) samples[j] = get((long) j * sampleEvery);
+        } else {
+            samples = null;
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public int get(long index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + " out of " + size);
+        return segments[(int) (index >>> SEGMENT_SHIFT)].getInt((int) (index & SEGMENT_MASK) * Integer.BYTES);
+    }
+
+    /**
+     * Same contract as DeliveryRouteOptimization.binarySearch
+     * @return An index of target in the file, or -1
+     */
+    public long binarySearch(int target) {
+        long index = lowerBound(target);
+        return (index < size && get(index) == target) ? index : -1;
+    }
+
+    // First index whose value is >= target (size() if none)
+    public long lowerBound(int target) {
+        return bound(target, false);
+    }
+
+    // First index whose value is > target (size() if none)
+    public long upperBound(int target) {
+        return bound(target, true);
+    }
+
+    // Values read from the file by searches so far (each one a potential page fault)
+    public long getFileReads() {
+        return fileReads.sum();
+    }
+
+    // Number of values in [low, high]
+    public long count(int low, int high) {
+        if (low > high) return 0;
+        return upperBound(high) - lowerBound(low);
+    }
+
+    /**
+     * Iterates the values in [low, high] in ascending order, reading the file lazily
+     */
+    public PrimitiveIterator.OfInt range(int low, int high) {
+        long from = lowerBound(low);
+        long to = low > high ? from : upperBound(high);
+        return new PrimitiveIterator.OfInt() {
+            long next = from;
+
+            public boolean hasNext() {
+                return next < to;
+            }
+
+            public int nextInt() {
+                if (next >= to) throw new NoSuchElementException();
+                return get(next++);
+            }
+        };
+    }
+
+    // Mappings are released when the buffers are collected; closing drops the channel
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // First index whose value is >= target (> target if strict)
+    private long bound(int target, boolean strict) {
+        long lo = 0, hi = size;
+        if (samples != null) {
+            // First sample past the answer bounds the stretch of the file to search
+            int left = 0, right = samples.length;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (strict ? samples[mid] <= target : samples[mid] < target) left = mid + 1;
+                else right = mid;
+            }
+            lo = left == 0 ? 0 : (long) (left - 1) * sampleEvery + 1;
+            hi = Math.min(size, (long) left * sampleEvery);
+        }
+        int reads = 0;
+        while (lo < hi) {
+            long mid = (lo + hi) >>> 1;
+            int value = get(mid);
+            reads++;
+            if (strict ? value <= target : value < target) lo = mid + 1;
+            else hi = mid;
+        }
+        fileReads.add(reads); // Once per search, so the loop stays free of shared writes
+        return lo;
+    }
+
+    // Test driver
+    public static void main(String[] args) throws IOException {
+        int n = 20_000_000;
+        Path dump = Files.createTempFile("shipments-", ".bin");
+        Path sorted = Files.createTempFile("shipments-sorted-", ".bin");
+        try {
+            Random random = new Random(42);
+            int[] ids = random.ints(n, 0, 1_000_000_000).toArray();
+            ByteBuffer bytes = ByteBuffer.allocate(n * Integer.BYTES);
+            bytes.asIntBuffer().put(ids);
+            Files.write(dump, bytes.array());
+            new ExternalSort(4_000_000).sort(dump, sorted);
+            DeliveryRouteOptimization.sort(ids, DeliveryRouteOptimization.SortAlgorithm.RADIX);
+
+            int[] targets = new int[2_000_000];
+            for (int i = 0; i < targets.length; i++) {
+                targets[i] = random.nextBoolean() ? ids[random.nextInt(n)] : random.nextInt(1_000_000_000);
+            }
+
+            for (int sampleEvery : new int[]{0, 1024}) {
+                try (MappedSortedIntIndex index = new MappedSortedIntIndex(sorted, sampleEvery)) {
+                    int found = 0, agree = 0;
+                    for (int target : targets) {
+                        long at = index.binarySearch(target);
+                        if (at != -1) found++;
+                        if ((at != -1) == (DeliveryRouteOptimization.binarySearch(ids, target) != -1)) agree++;
+                    }
+                    long reads = index.getFileReads();
+
+                    for (int round = 0; round < 3; round++) {
+                        long start = System.nanoTime();
+                        for (int target : targets) index.binarySearch(target);
+                        long elapsed = System.nanoTime() - start;
+                        System.out.printf("sparse index every %d: %d lookups in %d ms, %.1f file reads per lookup (%d found, %d agree with in-memory)%n",
+                            sampleEvery, targets.length, elapsed / 1_000_000, (double) reads / targets.length, found, agree);
+                    }
+
+                    // Ids in one range, read lazily from the mapping
+                    long inRange = 0;
+                    PrimitiveIterator.OfInt range = index.range(500_000_000, 500_010_000);
+                    while (range.hasNext()) {
+                        range.nextInt();
+                        inRange++;
+                    }
+                    System.out.println("Ids in [500000000, 500010000]: " + inRange
+                        + " (count: " + index.count(500_000_000, 500_010_000) + ")");
+                }
+            }
+        } finally {
+            Files.deleteIfExists(dump);
+            Files.deleteIfExists(sorted);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+import java.util.*;
+
+/**
+ * Double-ended priority queue over primitive ints (Atkinson min-max heap).
+ * Replaces a paired MinHeap + MaxHeap: even levels are ordered like a MinHeap,
+ * odd levels like a MaxHeap, so both ends sit in the first three slots.
+ * peekMin/peekMax are O(1), insert/extractMin/extractMax are O(log n).
+ * A bounded heap evicts from the chosen end once it reaches capacity.
+ */
+public class MinMaxHeap {
+    /**
+     * Which end a bounded heap drops when a new value arrives at capacity
+     */
+    public enum Evict { MIN, MAX }
+
+    private int[] heap;
+    private int size;
+    private final int capacity;     // Integer.MAX_VALUE when unbounded
+    private final Evict evict;
+    private long evictions;
+
+    public MinMaxHeap() {
+        this.heap = new int[16];
+        this.capacity = Integer.MAX_VALUE;
+        this.evict = Evict.MAX;
+    }
+
+    /**
+     * Bounded heap keeping at most capacity values
+     * @param evict Evict.MAX keeps the smallest values, Evict.MIN keeps the largest
+     */
+    public MinMaxHeap(int capacity, Evict evict) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        this.heap = new int[Math.min(capacity, 1 << 16)];
+        this.capacity = capacity;
+        this.evict = evict;
+    }
+
+    // Even levels (root = level 0) are min levels
+    private static boolean isMinLevel(int i) {
+        return ((31 - Integer.numberOfLeadingZeros(i + 1)) & 1) == 0;
+    }
+
+    private void swap(int i, int j) {
+        int temp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = temp;
+    }
+
+    public void insert(int value) {
+        if (size == capacity) {
+            evictions++;
+            if (evict == Evict.MAX) {
+                if (value >= peekMax()) return; // New value would be evicted straight away
+                extractMax();
+            } else {
+                if (value <= peekMin()) return;
+                extractMin();
+            }
+        }
+        if (size == heap.length) heap = Arrays.copyOf(heap, (int) Math.min((long) size * 2, capacity));
+        heap[size] = value;
+        pushUp(size++);
+    }
+
+    public int peekMin() {
+        if (size == 0) throw new IllegalStateException("Heap is empty");
+        return heap[0];
+    }
+
+    public int peekMax() {
+        if (size == 0) throw new IllegalStateException("Heap is empty");
+        return heap[maxIndex()];
+    }
+
+    public int extractMin() {
+        if (size == 0) throw new IllegalStateException("Heap is empty");
+        int min = heap[0];
+        heap[0] = heap[--size];
+        if (size > 0) pushDown(0);
+        return min;
+    }
+
+    public int extractMax() {
+        if (size == 0) throw new IllegalStateException("Heap is empty");
+        int index = maxIndex();
+        int max = heap[index];
+        heap[index] = heap[--size];
+        if (index < size) pushDown(index);
+        return max;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Number of values dropped by a bounded heap
+    public long getEvictions() {
+        return evictions;
+    }
+
+    // The maximum is the larger child of the root (or the root itself)
+    private int maxIndex() {
+        if (size == 1) return 0;
+        if (size == 2) return 1;
+        return heap[1] >= heap[2] ? 1 : 2;
+    }
+
+    private void pushUp(int i) {
+        if (i == 0) return;
+        int parent = (i - 1) / 2;
+        if (isMinLevel(i)) {
+            if (heap[i] > heap[parent]) {
+                swap(i, parent);
+                pushUpMax(parent);
+            } else {
+                pushUpMin(i);
+            }
+        } else {
+            if (heap[i] < heap[parent]) {
+                swap(i, parent);
+                pushUpMin(parent);
+            } else {
+                pushUpMax(i);
+            }
+        }
+    }
+
+    private void pushUpMin(int i) {
+        while (i > 2) {
+            int grandparent = ((i - 1) / 2 - 1) / 2;
+            if (heap[i] >= heap[grandparent]) break;
+            swap(i, grandparent);
+            i = grandparent;
+        }
+    }
+
+    private void pushUpMax(int i) {
+        while (i > 2) {
+            int grandparent = ((i - 1) / 2 - 1) / 2;
+            if (heap[i] <= heap[grandparent]) break;
+            swap(i, grandparent);
+            i = grandparent;
+        }
+    }
+
+    // Trickle down through grandchildren, fixing the parent level on the way
+    private void pushDown(int i) {
+        boolean min = isMinLevel(i);
+        while (true) {
+            int firstChild = 2 * i + 1;
+            if (firstChild >= size) return;
+
+            // Best among up to two children and four grandchildren
+            int best = firstChild;
+            int last = Math.min(firstChild + 1, size - 1);
+            for (int c = firstChild; c <= last; c++) {
+                if (min ? heap[c] < heap[best] : heap[c] > heap[best]) best = c;
+                int grandchild = 2 * c + 1;
+                for (int g = grandchild; g < Math.min(grandchild + 2, size); g++) {
+                    if (min ? heap[g] < heap[best] : heap[g] > heap[best]) best = g;
+                }
+            }
+
+            if (min ? heap[best] >= heap[i] : heap[best] <= heap[i]) return;
+            swap(best, i);
+            if (best <= last) return; // Was a child, nothing below it can be out of order
+
+            int parent = (best - 1) / 2;
+            if (min ? heap[best] > heap[parent] : heap[best] < heap[parent]) swap(best, parent);
+            i = best;
+        }
+    }
+
+    // Test driver
+    public static void main(String[] args) {
+        MinMaxHeap heap = new MinMaxHeap();
+        heap.insert(10);
+        heap.insert(3);
+        heap.insert(15);
+        heap.insert(7);
+        System.out.println("Min-Max Heap Peek Min: " + heap.peekMin()); // Should return 3
+        System.out.println("Min-Max Heap Peek Max: " + heap.peekMax()); // Should return 15
+        System.out.println("Extract Max: " + heap.extractMax() + ", Extract Min: " + heap.extractMin());
+
+        // Rolling buffer of the 5 cheapest delivery costs, one heap instead of two
+        MinMaxHeap cheapest = new MinMaxHeap(5, Evict.MAX);
+        for (int cost : new int[]{40, 12, 35, 18, 30, 22, 9, 50, 14}) {
+            cheapest.insert(cost);
+        }
+        StringBuilder kept = new StringBuilder();
+        while (!cheapest.isEmpty()) kept.append(cheapest.extractMin()).append(" ");
+        System.out.println("5 cheapest costs: " + kept.toString().trim()); // 9 12 14 18 22
+    }
+}
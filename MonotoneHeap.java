@@ -0,0 +1,310 @@
+import java.util.*;
+
+/**
+ * Integer priority queues for monotone workloads (Dijkstra, event scheduling)
+ * where extracted keys never decrease. Both queues expose the same
+ * insert/extractMin API as AlifHilmy.MinHeap, plus an optional int payload
+ * per key (e.g. the vertex id) that is read back with lastValue().
+ */
+public class MonotoneHeap {
+
+    // ===================== Radix Heap =====================
+    /**
+     * Radix heap: bucket i holds keys whose highest bit differing from the last
+     * extracted key is bit i-1. Each key moves to a lower bucket at most 32 times,
+     * so operations cost O(log C) amortised with no key comparisons on insert.
+     */
+    public static class RadixHeap {
+        private static final int BUCKETS = 33;
+
+        private final int[][] keys = new int[BUCKETS][];
+        private final int[][] values = new int[BUCKETS][];
+        private final int[] bucketSize = new int[BUCKETS];
+        private int last = Integer.MIN_VALUE; // Last extracted key, lower bound for inserts
+        private int lastValue;
+        private int size;
+
+        public RadixHeap() {
+            for (int i = 0; i < BUCKETS; i++) {
+                keys[i] = new int[4];
+                values[i] = new int[4];
+            }
+        }
+
+        // Bucket for key relative to the last extracted key (highest differing bit + 1)
+        private int bucketOf(int key) {
+            return 32 - Integer.numberOfLeadingZeros(key ^ last);
+        }
+
+        public void insert(int key) {
+            insert(key, 0);
+        }
+
+        public void insert(int key, int value) {
+            if (key < last) {
+                throw new IllegalArgumentException("Key " + key + " is below last extracted key " + last);
+            }
+            push(bucketOf(key), key, value);
+            size++;
+        }
+
+        public int extractMin() {
+            if (size == 0) throw new IllegalStateException("Heap is empty");
+            if (bucketSize[0] == 0) {
+                int i = 1;
+                while (bucketSize[i] == 0) i++;
+
+                // New lower bound is the smallest key in the first non-empty bucket
+                int[] bucketKeys = keys[i];
+                int[] bucketValues = values[i];
+                int count = bucketSize[i];
+                int min = bucketKeys[0];
+                for (int j = 1; j < count; j++) {
+                    if (bucketKeys[j] < min) min = bucketKeys[j];
+                }
+                last = min;
+
+                // Redistribute; every key lands in a strictly lower bucket
+                bucketSize[i] = 0;
+                for (int j = 0; j < count; j++) {
+                    push(bucketOf(bucketKeys[j]), bucketKeys[j], bucketValues[j]);
+                }
+            }
+            int index = --bucketSize[0];
+            lastValue = values[0][index];
+            size--;
+            return keys[0][index];
+        }
+
+        // Payload of the key returned by the last extractMin
+        public int lastValue() {
+            return lastValue;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        private void push(int bucket, int key, int value) {
+            int n = bucketSize[bucket];
+            if (n == keys[bucket].length) {
+                keys[bucket] = Arrays.copyOf(keys[bucket], n * 2);
+                values[bucket] = Arrays.copyOf(values[bucket], n * 2);
+            }
+            keys[bucket][n] = key;
+            values[bucket][n] = value;
+            bucketSize[bucket] = n + 1;
+        }
+    }
+
+    // ===================== Dial Bucket Queue =====================
+    /**
+     * Dial's bucket queue: a circular array of C + 1 buckets, where C is the
+     * largest spread between any queued key and the last extracted key (the
+     * maximum edge weight for Dijkstra). Insert is O(1), extractMin is O(1)
+     * amortised over the range of keys scanned.
+     */
+    public static class BucketQueue {
+        private final int span;               // C + 1 buckets
+        private final int[][] values;
+        private final int[] bucketSize;
+        private int current;                  // Key of the bucket under the cursor
+        private int cursor;                   // Index of the bucket holding key 'current'
+        private int lastValue;
+        private int size;
+
+        /**
+         * @param maxSpread Largest allowed difference between an inserted key and the last extracted key
+         */
+        public BucketQueue(int maxSpread) {
+            if (maxSpread < 0 || maxSpread == Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid spread: " + maxSpread);
+            }
+            this.span = maxSpread + 1;
+            this.values = new int[span][];
+            this.bucketSize = new int[span];
+        }
+
+        public void insert(int key) {
+            insert(key, 0);
+        }
+
+        public void insert(int key, int value) {
+            if (size == 0) {
+                current = key; // Empty queue: jump straight to the new key
+                cursor = 0;
+            }
+            long offset = (long) key - current;
+            if (offset < 0 || offset >= span) {
+                throw new IllegalArgumentException("Key " + key + " outside window [" + current + ", "
+                    + ((long) current + span - 1) + "]");
+            }
+            int bucket = (int) ((cursor + offset) % span);
+            int n = bucketSize[bucket];
+            if (values[bucket] == null) {
+                values[bucket] = new int[4];
+            } else if (n == values[bucket].length) {
+                values[bucket] = Arrays.copyOf(values[bucket], n * 2);
+            }
+            values[bucket][n] = value;
+            bucketSize[bucket] = n + 1;
+            size++;
+        }
+
+        public int extractMin() {
+            if (size == 0) throw new IllegalStateException("Heap is empty");
+            while (bucketSize[cursor] == 0) {
+                cursor = (cursor + 1 == span) ? 0 : cursor + 1;
+                current++;
+            }
+            lastValue = values[cursor][--bucketSize[cursor]];
+            size--;
+            return current;
+        }
+
+        // Payload of the key returned by the last extractMin
+        public int lastValue() {
+            return lastValue;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    // ===================== Dijkstra Benchmark =====================
+
+    // Grid road graph in CSR form: vertex v's edges are target/weight[offset[v] .. offset[v + 1])
+    private static int[][] gridGraph(int width, int height, int maxWeight, long seed) {
+        Random random = new Random(seed);
+        int n = width * height;
+        int[] offset = new int[n + 1];
+        int[] target = new int[4 * n];
+        int[] weight = new int[4 * n];
+        int edges = 0;
+        for (int v = 0; v < n; v++) {
+            offset[v] = edges;
+            int x = v % width, y = v / width;
+            int[] neighbours = {
+                x > 0 ? v - 1 : -1, x < width - 1 ? v + 1 : -1,
+                y > 0 ? v - width : -1, y < height - 1 ? v + width : -1
+            };
+            for (int u : neighbours) {
+                if (u >= 0) {
+                    target[edges] = u;
+                    weight[edges++] = 1 + random.nextInt(maxWeight);
+                }
+            }
+        }
+        offset[n] = edges;
+        return new int[][]{offset, target, weight};
+    }
+
+    private static int[] dijkstraBinaryHeap(int[][] graph, int source) {
+        int[] offset = graph[0], target = graph[1], weight = graph[2];
+        int[] dist = new int[offset.length - 1];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        dist[source] = 0;
+        PriorityQueue<Long> heap = new PriorityQueue<>();
+        heap.add((long) source);
+        while (!heap.isEmpty()) {
+            long entry = heap.poll();
+            int d = (int) (entry >>> 32), v = (int) entry;
+            if (d > dist[v]) continue; // Stale entry
+            for (int e = offset[v]; e < offset[v + 1]; e++) {
+                int nd = d + weight[e];
+                if (nd < dist[target[e]]) {
+                    dist[target[e]] = nd;
+                    heap.add(((long) nd << 32) | target[e]);
+                }
+            }
+        }
+        return dist;
+    }
+
+    private static int[] dijkstraRadixHeap(int[][] graph, int source) {
+        int[] offset = graph[0], target = graph[1], weight = graph[2];
+        int[] dist = new int[offset.length - 1];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        dist[source] = 0;
+        RadixHeap heap = new RadixHeap();
+        heap.insert(0, source);
+        while (!heap.isEmpty()) {
+            int d = heap.extractMin(), v = heap.lastValue();
+            if (d > dist[v]) continue;
+            for (int e = offset[v]; e < offset[v + 1]; e++) {
+                int nd = d + weight[e];
+                if (nd < dist[target[e]]) {
+                    dist[target[e]] = nd;
+                    heap.insert(nd, target[e]);
+                }
+            }
+        }
+        return dist;
+    }
+
+    private static int[] dijkstraBucketQueue(int[][] graph, int source, int maxWeight) {
+        int[] offset = graph[0], target = graph[1], weight = graph[2];
+        int[] dist = new int[offset.length - 1];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        dist[source] = 0;
+        BucketQueue heap = new BucketQueue(maxWeight);
+        heap.insert(0, source);
+        while (!heap.isEmpty()) {
+            int d = heap.extractMin(), v = heap.lastValue();
+            if (d > dist[v]) continue;
+            for (int e = offset[v]; e < offset[v + 1]; e++) {
+                int nd = d + weight[e];
+                if (nd < dist[target[e]]) {
+                    dist[target[e]] = nd;
+                    heap.insert(nd, target[e]);
+                }
+            }
+        }
+        return dist;
+    }
+
+    // Test driver
+    public static void main(String[] args) {
+        RadixHeap radix = new RadixHeap();
+        radix.insert(10);
+        radix.insert(3);
+        radix.insert(15);
+        System.out.println("Radix Heap Extract Min: " + radix.extractMin()); // Should return 3
+
+        BucketQueue buckets = new BucketQueue(40);
+        buckets.insert(12);
+        buckets.insert(40);
+        buckets.insert(18);
+        System.out.println("Bucket Queue Extract Min: " + buckets.extractMin()); // Should return 12
+
+        // Dijkstra on a 1000 x 1000 grid road graph
+        int maxWeight = 100;
+        int[][] graph = gridGraph(1000, 1000, maxWeight, 42);
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            int[] expected = dijkstraBinaryHeap(graph, 0);
+            long binaryTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int[] radixDist = dijkstraRadixHeap(graph, 0);
+            long radixTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int[] bucketDist = dijkstraBucketQueue(graph, 0, maxWeight);
+            long bucketTime = System.nanoTime() - start;
+
+            System.out.printf("Dijkstra 1M vertices: binary heap %d ms, radix heap %d ms, bucket queue %d ms (match: %b)%n",
+                binaryTime / 1_000_000, radixTime / 1_000_000, bucketTime / 1_000_000,
+                Arrays.equals(expected, radixDist) && Arrays.equals(expected, bucketDist));
+        }
+    }
+}
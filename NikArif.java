@@ -51,8 +51,13 @@ public class NikArif {
 
     // ===================== SplayTree Implementation =====================
     public static class SplayTree {
+        // FULL splays on every access, SEMI uses semi-splaying, DEPTH_THRESHOLD splays
+        // only deep accesses, EVERY_KTH splays one access in k
+        public enum SplayMode { FULL, SEMI, DEPTH_THRESHOLD, EVERY_KTH }
+
         static class Node {
             int key;
+            int count = 1; // Copies of key (multiset)
             Node left, right, parent;
 
             Node(int key) {
@@ -62,13 +67,43 @@ public class NikArif {
         }
 
         private Node root;
+        private int size; // Total copies, duplicates included
+        private SplayMode mode = SplayMode.FULL;
+        private int modeParameter;
+        private long operations;
+        private long rotations;
+        private int lastDepth;
 
         public SplayTree() {
             root = null;
         }
 
+        public SplayTree(SplayMode mode, int parameter) {
+            this();
+            setMode(mode, parameter);
+        }
+
+        // parameter is the depth threshold or k, depending on the mode
+        public void setMode(SplayMode mode, int parameter) {
+            if ((mode == SplayMode.DEPTH_THRESHOLD && parameter < 0) || (mode == SplayMode.EVERY_KTH && parameter <= 0)) {
+                throw new IllegalArgumentException("Invalid parameter " + parameter + " for " + mode);
+            }
+            this.mode = mode;
+            this.modeParameter = parameter;
+        }
+
+        public double rotationsPerOperation() {
+            return operations == 0 ? 0 : (double) rotations / operations;
+        }
+
+        public void resetStatistics() {
+            operations = 0;
+            rotations = 0;
+        }
+
         // Rotate node x to the left
         private void leftRotate(Node x) {
+            rotations++;
             Node y = x.right;
             x.right = y.left;
             if (y.left != null) {
@@ -88,6 +123,7 @@ public class NikArif {
 
         // Rotate node x to the right
         private void rightRotate(Node x) {
+            rotations++;
             Node y = x.left;
             x.left = y.right;
             if (y.right != null) {
@@ -130,20 +166,71 @@ public class NikArif {
             }
         }
 
+        // Semi-splay: a zig-zig lifts only the parent and continues from it
+        private void semiSplay(Node x) {
+            while (x.parent != null && x.parent.parent != null) {
+                if (x == x.parent.left && x.parent == x.parent.parent.left) {
+                    x = x.parent;
+                    rightRotate(x.parent);
+                } else if (x == x.parent.right && x.parent == x.parent.parent.right) {
+                    x = x.parent;
+                    leftRotate(x.parent);
+                } else if (x == x.parent.right && x.parent == x.parent.parent.left) {
+                    leftRotate(x.parent);
+                    rightRotate(x.parent);
+                } else {
+                    rightRotate(x.parent);
+                    leftRotate(x.parent);
+                }
+            }
+        }
+
+        // Restructure an accessed node according to the mode
+        private void access(Node x, int depth) {
+            operations++;
+            switch (mode) {
+                case FULL:
+                    splay(x);
+                    break;
+                case SEMI:
+                    semiSplay(x);
+                    break;
+                case DEPTH_THRESHOLD:
+                    if (depth > modeParameter) splay(x);
+                    break;
+                case EVERY_KTH:
+                    if (operations % modeParameter == 0) splay(x);
+                    break;
+            }
+        }
+
         // Insert a key into the tree
         public void insert(int key) {
-            Node node = new Node(key);
+            add(key);
+        }
+
+        // Add one copy of key; an existing key only has its count bumped
+        public void add(int key) {
             Node y = null;
             Node x = root;
+            int depth = 0;
+            size++;
             
             while (x != null) {
+                if (key == x.key) {
+                    x.count++;
+                    access(x, depth);
+                    return;
+                }
                 y = x;
-                if (node.key < x.key) {
+                depth++;
+                if (key < x.key) {
                     x = x.left;
                 } else {
                     x = x.right;
                 }
             }
+            Node node = new Node(key);
             node.parent = y;
             if (y == null) {
                 root = node;
@@ -152,14 +239,56 @@ public class NikArif {
             } else {
                 y.right = node;
             }
+            access(node, depth);
+        }
+
+        // Number of copies of key
+        public int count(int key) {
+            Node node = searchNode(key);
+            if (node == null) return 0;
+            access(node, lastDepth);
+            return node.count;
+        }
+
+        // Remove one copy of key, deleting the node when no copies remain
+        public boolean removeOne(int key) {
+            Node node = searchNode(key);
+            if (node == null) return false;
+            size--;
+            if (--node.count > 0) {
+                access(node, lastDepth);
+                return true;
+            }
+
             splay(node);
+            Node leftTree = node.left;
+            Node rightTree = node.right;
+            if (leftTree == null) {
+                root = rightTree;
+                if (rightTree != null) rightTree.parent = null;
+                return true;
+            }
+            leftTree.parent = null;
+            root = leftTree;
+            Node max = leftTree;
+            while (max.right != null) {
+                max = max.right;
+            }
+            splay(max);
+            max.right = rightTree;
+            if (rightTree != null) rightTree.parent = max;
+            return true;
+        }
+
+        public int size() {
+            return size;
         }
 
         // Search for a key in the tree
         public boolean search(int key) {
             Node node = searchNode(key);
             if (node != null) {
-                splay(node);
+                access(node, lastDepth);
                 return true;
             }
             return false;
@@ -168,6 +297,7 @@ public class NikArif {
         // Helper method to search for a node
         private Node searchNode(int key) {
             Node x = root;
+            lastDepth = 0;
             while (x != null) {
                 if (key == x.key) {
                     return x;
@@ -176,6 +306,7 @@ public class NikArif {
                 } else {
                     x = x.right;
                 }
+                lastDepth++;
             }
             return null;
         }
@@ -186,6 +317,9 @@ public class NikArif {
             tree.insert(10);
             tree.insert(30);
             System.out.println("Splay Tree Search (10 found): " + tree.search(10));
+            tree.add(10);
+            tree.removeOne(20);
+            System.out.println("Copies of 10: " + tree.count(10) + ", copies of 20: " + tree.count(20)); // 2, 0
         }
     }
 
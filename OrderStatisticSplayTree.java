@@ -0,0 +1,329 @@
+import java.util.*;
+
+/**
+ * Size-augmented splay tree (distinct int keys) for windowed analytics.
+ * Every node stores the size of its subtree, so besides insert/search/delete
+ * it answers rank, select and range counts, and can be split or joined,
+ * all in O(log n) amortised. Splaying is bottom-up with parent pointers,
+ * as in Syed.SplayTree; rotations keep the subtree sizes up to date.
+ */
+public class OrderStatisticSplayTree {
+    private static class Node {
+        int key;
+        int size = 1;
+        Node left, right, parent;
+
+        Node(int key) {
+            this.key = key;
+        }
+    }
+
+    private Node root;
+
+    public OrderStatisticSplayTree() {
+        this.root = null;
+    }
+
+    private OrderStatisticSplayTree(Node root) {
+        this.root = root;
+        if (root != null) root.parent = null;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    // Insert a key, returns false if it is already present
+    public boolean insert(int key) {
+        Node current = root;
+        Node parent = null;
+        while (current != null) {
+            parent = current;
+            if (key == current.key) {
+                splay(current);
+                return false;
+            }
+            current = key < current.key ? current.left : current.right;
+        }
+
+        Node node = new Node(key);
+        node.parent = parent;
+        if (parent == null) {
+            root = node;
+        } else if (key < parent.key) {
+            parent.left = node;
+        } else {
+            parent.right = node;
+        }
+        splay(node);  // Rotations refresh the sizes of every ancestor
+        return true;
+    }
+
+    public boolean search(int key) {
+        Node node = descend(key);
+        return node != null && node.key == key;
+    }
+
+    public boolean delete(int key) {
+        Node node = descend(key);
+        if (node == null || node.key != key) return false;
+
+        // node is now the root; join its two subtrees
+        Node leftTree = node.left, rightTree = node.right;
+        if (leftTree == null) {
+            root = rightTree;
+            if (rightTree != null) rightTree.parent = null;
+        } else {
+            leftTree.parent = null;
+            root = leftTree;
+            splay(maxNode(leftTree));  // Max of the left subtree has no right child
+            root.right = rightTree;
+            if (rightTree != null) rightTree.parent = root;
+            update(root);
+        }
+        return true;
+    }
+
+    /**
+     * @return Number of keys strictly smaller than key
+     */
+    public int rank(int key) {
+        return countBelow(key, false);
+    }
+
+    /**
+     * @param k 0-based position in sorted order
+     * @return The k-th smallest key
+     */
+    public int select(int k) {
+        if (k < 0 || k >= size()) throw new IndexOutOfBoundsException("Rank " + k + " outside [0, " + size() + ")");
+        Node current = root;
+        while (true) {
+            int leftSize = size(current.left);
+            if (k < leftSize) {
+                current = current.left;
+            } else if (k > leftSize) {
+                k -= leftSize + 1;
+                current = current.right;
+            } else {
+                splay(current);
+                return current.key;
+            }
+        }
+    }
+
+    /**
+     * @return Number of keys in the inclusive range [lo, hi]
+     */
+    public int countRange(int lo, int hi) {
+        if (lo > hi) return 0;
+        return countBelow(hi, true) - countBelow(lo, false);
+    }
+
+    /**
+     * Splits off every key >= key into a new tree; this tree keeps the smaller keys
+     */
+    public OrderStatisticSplayTree split(int key) {
+        // Find the smallest key >= key
+        Node current = root, last = null, ceiling = null;
+        while (current != null) {
+            last = current;
+            if (current.key >= key) {
+                ceiling = current;
+                current = current.left;
+            } else {
+                current = current.right;
+            }
+        }
+        if (ceiling == null) {
+            if (last != null) splay(last);
+            return new OrderStatisticSplayTree();
+        }
+
+        splay(ceiling);
+        Node leftTree = ceiling.left;
+        ceiling.left = null;
+        update(ceiling);
+        root = leftTree;
+        if (leftTree != null) leftTree.parent = null;
+        return new OrderStatisticSplayTree(ceiling);
+    }
+
+    /**
+     * Appends every key of other, which must all be larger than this tree's keys.
+     * other is left empty.
+     */
+    public void join(OrderStatisticSplayTree other) {
+        if (other == this) throw new IllegalArgumentException("Cannot join a tree with itself");
+        if (other.root == null) return;
+        if (root == null) {
+            root = other.root;
+            other.root = null;
+            return;
+        }
+
+        splay(maxNode(root));
+        other.splay(minNode(other.root));
+        if (root.key >= other.root.key) {
+            throw new IllegalArgumentException("Keys of the joined tree must all be larger");
+        }
+        root.right = other.root;
+        other.root.parent = root;
+        update(root);
+        other.root = null;
+    }
+
+    // In-order keys, mainly for debugging small trees
+    public int[] toArray() {
+        int[] result = new int[size()];
+        Deque<Node> stack = new ArrayDeque<>();
+        Node node = root;
+        int i = 0;
+        while (node != null || !stack.isEmpty()) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            result[i++] = node.key;
+            node = node.right;
+        }
+        return result;
+    }
+
+    // Count keys < key (or <= key when inclusive), splaying the last node visited
+    private int countBelow(int key, boolean inclusive) {
+        Node current = root, last = null;
+        int count = 0;
+        while (current != null) {
+            last = current;
+            if (current.key < key || (inclusive && current.key == key)) {
+                count += size(current.left) + 1;
+                current = current.right;
+            } else {
+                current = current.left;
+            }
+        }
+        if (last != null) splay(last);
+        return count;
+    }
+
+    // BST search that splays the matching node, or the last node on the path
+    private Node descend(int key) {
+        Node current = root, last = null;
+        while (current != null) {
+            last = current;
+            if (key == current.key) break;
+            current = key < current.key ? current.left : current.right;
+        }
+        if (last != null) splay(last);
+        return last;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private static Node minNode(Node node) {
+        while (node.left != null) node = node.left;
+        return node;
+    }
+
+    private static Node maxNode(Node node) {
+        while (node.right != null) node = node.right;
+        return node;
+    }
+
+    // Core splaying operation with zig, zig-zig, and zig-zag cases
+    private void splay(Node node) {
+        while (node.parent != null) {
+            Node parent = node.parent;
+            Node grandparent = parent.parent;
+
+            if (grandparent == null) {
+                // Zig case
+                if (node == parent.left) rotateRight(parent);
+                else rotateLeft(parent);
+            } else if (node == parent.left && parent == grandparent.left) {
+                // Zig-zig case (left-left)
+                rotateRight(grandparent);
+                rotateRight(parent);
+            } else if (node == parent.right && parent == grandparent.right) {
+                // Zig-zig case (right-right)
+                rotateLeft(grandparent);
+                rotateLeft(parent);
+            } else if (node == parent.right && parent == grandparent.left) {
+                // Zig-zag case (left-right)
+                rotateLeft(parent);
+                rotateRight(grandparent);
+            } else {
+                // Zig-zag case (right-left)
+                rotateRight(parent);
+                rotateLeft(grandparent);
+            }
+        }
+        root = node;
+    }
+
+    private void rotateLeft(Node node) {
+        Node rightChild = node.right;
+        node.right = rightChild.left;
+        if (rightChild.left != null) rightChild.left.parent = node;
+        rightChild.parent = node.parent;
+        if (node.parent == null) {
+            root = rightChild;
+        } else if (node == node.parent.left) {
+            node.parent.left = rightChild;
+        } else {
+            node.parent.right = rightChild;
+        }
+        rightChild.left = node;
+        node.parent = rightChild;
+        update(node);
+        update(rightChild);
+    }
+
+    private void rotateRight(Node node) {
+        Node leftChild = node.left;
+        node.left = leftChild.right;
+        if (leftChild.right != null) leftChild.right.parent = node;
+        leftChild.parent = node.parent;
+        if (node.parent == null) {
+            root = leftChild;
+        } else if (node == node.parent.right) {
+            node.parent.right = leftChild;
+        } else {
+            node.parent.left = leftChild;
+        }
+        leftChild.right = node;
+        node.parent = leftChild;
+        update(node);
+        update(leftChild);
+    }
+
+    // Test driver
+    public static void main(String[] args) {
+        OrderStatisticSplayTree timestamps = new OrderStatisticSplayTree();
+        for (int t : new int[]{1030, 1005, 1090, 1012, 1047, 1061, 1075}) {
+            timestamps.insert(t);
+        }
+        System.out.println("Deliveries between 1010 and 1060: " + timestamps.countRange(1010, 1060)); // 3
+        System.out.println("Rank of 1047: " + timestamps.rank(1047));                                   // 3
+        System.out.println("Median timestamp: " + timestamps.select(timestamps.size() / 2));            // 1047
+
+        OrderStatisticSplayTree later = timestamps.split(1050);
+        System.out.println("Before 1050: " + Arrays.toString(timestamps.toArray()));
+        System.out.println("From 1050: " + Arrays.toString(later.toArray()));
+        timestamps.join(later);
+        timestamps.delete(1005);
+        System.out.println("Joined, 1005 deleted: " + Arrays.toString(timestamps.toArray()));
+    }
+}
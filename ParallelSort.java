@@ -0,0 +1,263 @@
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join merge sort for large int[] and long[] arrays.
+ * Ranges of at most sequentialCutoff elements are sorted with
+ * DeliveryRouteOptimization.hybridSort; larger ranges sort both halves in
+ * parallel and merge them with a parallel merge. The levels ping-pong between
+ * the array and one scratch buffer, so no level copies its result back.
+ * The scratch buffer is kept between calls, so one instance should be reused
+ * for repeated sorts (calls on the same instance are serialised).
+ */
+public class ParallelSort {
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;  // Smaller arrays are sorted sequentially
+    private final int sequentialCutoff;   // Leaf size of the fork/join recursion
+    private final int mergeCutoff;        // Merges smaller than this are not split further
+
+    private int[] intScratch = new int[0];
+    private long[] longScratch = new long[0];
+
+    public ParallelSort() {
+        this(ForkJoinPool.commonPool(), 1 << 16, 1 << 13);
+    }
+
+    /**
+     * @param pool Pool running the sort tasks
+     * @param parallelThreshold Arrays below this length skip fork/join entirely
+     * @param sequentialCutoff Ranges at most this long are sorted by the hybrid kernel
+     */
+    public ParallelSort(ForkJoinPool pool, int parallelThreshold, int sequentialCutoff) {
+        if (sequentialCutoff < 1 || parallelThreshold < 1) throw new IllegalArgumentException("Thresholds must be positive");
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+        this.sequentialCutoff = sequentialCutoff;
+        this.mergeCutoff = Math.max(sequentialCutoff, 1 << 12);
+    }
+
+    public synchronized void sort(int[] arr) {
+        if (arr.length < parallelThreshold) {
+            DeliveryRouteOptimization.hybridSort(arr);
+            return;
+        }
+        if (intScratch.length < arr.length) intScratch = new int[arr.length];
+        pool.invoke(new IntSortTask(arr, intScratch, 0, arr.length, true));
+    }
+
+    public synchronized void sort(long[] arr) {
+        if (arr.length < parallelThreshold) {
+            DeliveryRouteOptimization.hybridSort(arr);
+            return;
+        }
+        if (longScratch.length < arr.length) longScratch = new long[arr.length];
+        pool.invoke(new LongSortTask(arr, longScratch, 0, arr.length, true));
+    }
+
+    // Drop the scratch buffers, e.g. after a one-off very large sort
+    public synchronized void releaseScratch() {
+        intScratch = new int[0];
+        longScratch = new long[0];
+    }
+
+    // ===================== int[] tasks =====================
+
+    // Sorts [lo, hi), leaving the result in arr if intoArr, otherwise in scratch
+    private class IntSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final int[] arr, scratch;
+        final int lo, hi;
+        final boolean intoArr;
+
+        IntSortTask(int[] arr, int[] scratch, int lo, int hi, boolean intoArr) {
+            this.arr = arr;
+            this.scratch = scratch;
+            this.lo = lo;
+            this.hi = hi;
+            this.intoArr = intoArr;
+        }
+
+        protected void compute() {
+            if (hi - lo <= sequentialCutoff) {
+                DeliveryRouteOptimization.hybridSort(arr, lo, hi);
+                if (!intoArr) System.arraycopy(arr, lo, scratch, lo, hi - lo);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            // Halves land in the other buffer, then merge into the target one
+            invokeAll(new IntSortTask(arr, scratch, lo, mid, !intoArr),
+                      new IntSortTask(arr, scratch, mid, hi, !intoArr));
+            int[] src = intoArr ? scratch : arr;
+            int[] dst = intoArr ? arr : scratch;
+            new IntMergeTask(src, lo, mid, mid, hi, dst, lo).compute();
+        }
+    }
+
+    // Merges src[lo1, hi1) and src[lo2, hi2) into dst starting at out
+    private class IntMergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final int[] src, dst;
+        final int lo1, hi1, lo2, hi2, out;
+
+        IntMergeTask(int[] src, int lo1, int hi1, int lo2, int hi2, int[] dst, int out) {
+            this.src = src;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.dst = dst;
+            this.out = out;
+        }
+
+        protected void compute() {
+            int n1 = hi1 - lo1, n2 = hi2 - lo2;
+            if (n1 + n2 <= mergeCutoff) {
+                int i = lo1, j = lo2, k = out;
+                while (i < hi1 && j < hi2) dst[k++] = src[i] <= src[j] ? src[i++] : src[j++];
+                while (i < hi1) dst[k++] = src[i++];
+                while (j < hi2) dst[k++] = src[j++];
+                return;
+            }
+            // Split the longer run at its middle and the shorter at the matching position
+            if (n1 >= n2) {
+                int m1 = (lo1 + hi1) >>> 1;
+                int m2 = lowerBound(src, lo2, hi2, src[m1]);
+                int outMid = out + (m1 - lo1) + (m2 - lo2);
+                invokeAll(new IntMergeTask(src, lo1, m1, lo2, m2, dst, out),
+                          new IntMergeTask(src, m1, hi1, m2, hi2, dst, outMid));
+            } else {
+                int m2 = (lo2 + hi2) >>> 1;
+                int m1 = lowerBound(src, lo1, hi1, src[m2]);
+                int outMid = out + (m1 - lo1) + (m2 - lo2);
+                invokeAll(new IntMergeTask(src, lo1, m1, lo2, m2, dst, out),
+                          new IntMergeTask(src, m1, hi1, m2, hi2, dst, outMid));
+            }
+        }
+    }
+
+    private static int lowerBound(int[] arr, int lo, int hi, int key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (arr[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // ===================== long[] tasks =====================
+
+    private class LongSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final long[] arr, scratch;
+        final int lo, hi;
+        final boolean intoArr;
+
+        LongSortTask(long[] arr, long[] scratch, int lo, int hi, boolean intoArr) {
+            this.arr = arr;
+            this.scratch = scratch;
+            this.lo = lo;
+            this.hi = hi;
+            this.intoArr = intoArr;
+        }
+
+        protected void compute() {
+            if (hi - lo <= sequentialCutoff) {
+                DeliveryRouteOptimization.hybridSort(arr, lo, hi);
+                if (!intoArr) System.arraycopy(arr, lo, scratch, lo, hi - lo);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new LongSortTask(arr, scratch, lo, mid, !intoArr),
+                      new LongSortTask(arr, scratch, mid, hi, !intoArr));
+            long[] src = intoArr ? scratch : arr;
+            long[] dst = intoArr ? arr : scratch;
+            new LongMergeTask(src, lo, mid, mid, hi, dst, lo).compute();
+        }
+    }
+
+    private class LongMergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final long[] src, dst;
+        final int lo1, hi1, lo2, hi2, out;
+
+        LongMergeTask(long[] src, int lo1, int hi1, int lo2, int hi2, long[] dst, int out) {
+            this.src = src;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.dst = dst;
+            this.out = out;
+        }
+
+        protected void compute() {
+            int n1 = hi1 - lo1, n2 = hi2 - lo2;
+            if (n1 + n2 <= mergeCutoff) {
+                int i = lo1, j = lo2, k = out;
+                while (i < hi1 && j < hi2) dst[k++] = src[i] <= src[j] ? src[i++] : src[j++];
+                while (i < hi1) dst[k++] = src[i++];
+                while (j < hi2) dst[k++] = src[j++];
+                return;
+            }
+            if (n1 >= n2) {
+                int m1 = (lo1 + hi1) >>> 1;
+                int m2 = lowerBound(src, lo2, hi2, src[m1]);
+                int outMid = out + (m1 - lo1) + (m2 - lo2);
+                invokeAll(new LongMergeTask(src, lo1, m1, lo2, m2, dst, out),
+                          new LongMergeTask(src, m1, hi1, m2, hi2, dst, outMid));
+            } else {
+                int m2 = (lo2 + hi2) >>> 1;
+                int m1 = lowerBound(src, lo1, hi1, src[m2]);
+                int outMid = out + (m1 - lo1) + (m2 - lo2);
+                invokeAll(new LongMergeTask(src, lo1, m1, lo2, m2, dst, out),
+                          new LongMergeTask(src, m1, hi1, m2, hi2, dst, outMid));
+            }
+        }
+    }
+
+    private static int lowerBound(long[] arr, int lo, int hi, long key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (arr[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // Test driver
+    public static void main(String[] args) {
+        int n = 20_000_000;
+        ParallelSort sorter = new ParallelSort();
+        Random random = new Random(42);
+
+        for (int round = 0; round < 3; round++) {
+            int[] ids = random.ints(n).toArray();
+            int[] copy = ids.clone();
+
+            long start = System.nanoTime();
+            DeliveryRouteOptimization.hybridSort(copy);
+            long sequential = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            sorter.sort(ids);
+            long parallel = System.nanoTime() - start;
+
+            System.out.printf("%d ints: hybridSort %d ms, parallel %d ms on %d threads (match: %b)%n",
+                n, sequential / 1_000_000, parallel / 1_000_000,
+                ForkJoinPool.commonPool().getParallelism(), Arrays.equals(ids, copy));
+        }
+
+        long[] shipments = random.longs(n).toArray();
+        sorter.sort(shipments);
+        boolean sorted = true;
+        for (int i = 1; i < n; i++) {
+            if (shipments[i - 1] > shipments[i]) sorted = false;
+        }
+        System.out.println(n + " longs sorted: " + sorted);
+    }
+}
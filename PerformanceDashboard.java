@@ -0,0 +1,301 @@
+import java.awt.*;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.List;
+import java.util.function.Function;
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Performance history of route solver runs.
+ * Each run records wall time, bytes allocated by the solver thread (through
+ * com.sun.management.ThreadMXBean), nodes expanded, memo hits and tour cost.
+ * The window shows a sortable table of all runs and a chart of cost against
+ * wall time (log scale) for the runs on the most recent instance.
+ * record() must be called on the Event Dispatch Thread.
+ */
+public class PerformanceDashboard {
+    /**
+     * Measurements of one solver run
+     */
+    public static class Run {
+        final int number;
+        final String algorithm;
+        final int instance;           // Instance number, runs are only comparable within one instance
+        final int locations;
+        final double wallMillis;
+        final long allocatedBytes;    // -1 when the JVM cannot measure it
+        final long nodesExpanded;
+        final long memoHits;
+        final Integer cost;           // null when no tour was found
+        final String status;
+        final String result;          // Text returned by the solver
+
+        Run(int number, String algorithm, int instance, int locations, double wallMillis, long allocatedBytes,
+            long nodesExpanded, long memoHits, Integer cost, String status, String result) {
+            this.number = number;
+            this.algorithm = algorithm;
+            this.instance = instance;
+            this.locations = locations;
+            this.wallMillis = wallMillis;
+            this.allocatedBytes = allocatedBytes;
+            this.nodesExpanded = nodesExpanded;
+            this.memoHits = memoHits;
+            this.cost = cost;
+            this.status = status;
+            this.result = result;
+        }
+
+        public String getResult() {
+            return result;
+        }
+    }
+
+    private static int runCounter;
+
+    private final JFrame frame;
+    private final RunTableModel model = new RunTableModel();
+    private final CostTimeChart chart = new CostTimeChart();
+
+    public PerformanceDashboard() {
+        frame = new JFrame("DROP - Performance");
+        frame.setDefaultCloseOperation(JFrame.HIDE_ON_CLOSE);
+        frame.setSize(900, 650);
+
+        JTable table = new JTable(model);
+        table.setAutoCreateRowSorter(true); // Click a header to sort by that column
+        table.setFillsViewportHeight(true);
+
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT, new JScrollPane(table), chart);
+        split.setResizeWeight(0.5);
+        frame.add(split);
+    }
+
+    public void show() {
+        frame.setLocationRelativeTo(null);
+        frame.setVisible(true);
+        frame.toFront();
+    }
+
+    public void record(Run run) {
+        model.add(run);
+        chart.repaint();
+    }
+
+    /**
+     * Runs a solver on the calling thread and measures it
+     * @param algorithm Name shown in the table and chart legend
+     * @param instance Number of the instance being solved
+     * @param locations Size of the instance
+     * @param monitor Monitor passed to the solver; its counters and best cost are recorded
+     */
+    public static Run measure(String algorithm, int instance, int locations,
+                              DeliveryRouteOptimization.SolverMonitor monitor,
+                              Function<DeliveryRouteOptimization.SolverMonitor, String> solver) {
+        long allocatedBefore = currentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        String result = solver.apply(monitor);
+        double wallMillis = (System.nanoTime() - start) / 1e6;
+        long allocatedAfter = currentThreadAllocatedBytes();
+
+        int cost = monitor.getBestCost();
+        String status = monitor.isCancelled() ? "cancelled" : monitor.wasStopped() ? "time budget" : "done";
+        int number;
+        synchronized (PerformanceDashboard.class) {
+            number = ++runCounter;
+        }
+        return new Run(number, algorithm, instance, locations, wallMillis,
+            allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore,
+            monitor.getNodesExpanded(), monitor.getMemoHits(),
+            cost == Integer.MAX_VALUE ? null : cost, status, result);
+    }
+
+    // Bytes allocated so far by the calling thread, -1 if the JVM does not support it
+    public static long currentThreadAllocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    // ===================== History table =====================
+
+    private static class RunTableModel extends AbstractTableModel {
+        private static final long serialVersionUID = 1L;
+        private static final String[] COLUMNS = {"Run", "Algorithm", "Instance", "Locations", "Time (ms)",
+            "Allocated (KB)", "Nodes expanded", "Memo hits", "Cost", "Status"};
+        private static final Class<?>[] TYPES = {Integer.class, String.class, Integer.class, Integer.class, Double.class,
+            Long.class, Long.class, Long.class, Integer.class, String.class};
+
+        private final List<Run> runs = new ArrayList<>();
+
+        void add(Run run) {
+            runs.add(run);
+            fireTableRowsInserted(runs.size() - 1, runs.size() - 1);
+        }
+
+        public int getRowCount() {
+            return runs.size();
+        }
+
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        // Typed columns sort numerically
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return TYPES[column];
+        }
+
+        public Object getValueAt(int row, int column) {
+            Run run = runs.get(row);
+            switch (column) {
+                case 0: return run.number;
+                case 1: return run.algorithm;
+                case 2: return run.instance;
+                case 3: return run.locations;
+                case 4: return Math.round(run.wallMillis * 100) / 100.0;
+                case 5: return run.allocatedBytes < 0 ? null : run.allocatedBytes / 1024;
+                case 6: return run.nodesExpanded;
+                case 7: return run.memoHits;
+                case 8: return run.cost;
+                default: return run.status;
+            }
+        }
+    }
+
+    // ===================== Cost / time chart =====================
+
+    private static final Map<String, Color> COLORS = new LinkedHashMap<>();
+    static {
+        COLORS.put("Greedy", new Color(31, 119, 180));
+        COLORS.put("Divide and conquer", new Color(255, 127, 14));
+        COLORS.put("Dynamic programming", new Color(44, 160, 44));
+        COLORS.put("Backtracking", new Color(214, 39, 40));
+    }
+
+    private class CostTimeChart extends JPanel {
+        private static final long serialVersionUID = 1L;
+        private static final int MARGIN = 55;
+
+        CostTimeChart() {
+            setBackground(Color.WHITE);
+            setPreferredSize(new Dimension(900, 300));
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            Graphics2D g2 = (Graphics2D) g;
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            // Only runs on the latest instance are comparable
+            List<Run> points = new ArrayList<>();
+            int instance = model.runs.isEmpty() ? -1 : model.runs.get(model.runs.size() - 1).instance;
+            for (Run run : model.runs) {
+                if (run.instance == instance && run.cost != null) points.add(run);
+            }
+            int width = getWidth(), height = getHeight();
+            if (points.isEmpty()) {
+                g2.drawString("No completed runs yet", width / 2 - 60, height / 2);
+                return;
+            }
+
+            // Log-scale time axis: solver times span several orders of magnitude
+            double minLog = Double.MAX_VALUE, maxLog = -Double.MAX_VALUE;
+            int minCost = Integer.MAX_VALUE, maxCost = Integer.MIN_VALUE;
+            for (Run run : points) {
+                double log = Math.log10(Math.max(run.wallMillis, 0.001));
+                minLog = Math.min(minLog, log);
+                maxLog = Math.max(maxLog, log);
+                minCost = Math.min(minCost, run.cost);
+                maxCost = Math.max(maxCost, run.cost);
+            }
+            minLog = Math.floor(minLog);
+            maxLog = Math.max(minLog + 1, Math.ceil(maxLog));
+            if (maxCost == minCost) {
+                maxCost++;
+                minCost--;
+            }
+
+            int left = MARGIN, right = width - 20, top = 25, bottom = height - 40;
+            g2.setColor(Color.BLACK);
+            g2.drawLine(left, bottom, right, bottom);
+            g2.drawLine(left, top, left, bottom);
+            g2.drawString("Cost vs wall time, instance " + instance, left, top - 8);
+            g2.drawString("time (ms, log scale)", (left + right) / 2 - 50, height - 8);
+
+            // Decade ticks on the time axis, min/max cost on the cost axis
+            for (int decade = (int) minLog; decade <= (int) maxLog; decade++) {
+                int x = left + (int) ((decade - minLog) / (maxLog - minLog) * (right - left));
+                g2.drawLine(x, bottom, x, bottom + 4);
+                g2.drawString(decade >= 0 ? String.valueOf((long) Math.pow(10, decade)) : String.valueOf(Math.pow(10, decade)), x - 10, bottom + 17);
+            }
+            g2.drawString(String.valueOf(maxCost), 5, top + 5);
+            g2.drawString(String.valueOf(minCost), 5, bottom);
+
+            for (Run run : points) {
+                double log = Math.log10(Math.max(run.wallMillis, 0.001));
+                int x = left + (int) ((log - minLog) / (maxLog - minLog) * (right - left));
+                int y = bottom - (int) ((double) (run.cost - minCost) / (maxCost - minCost) * (bottom - top));
+                g2.setColor(COLORS.getOrDefault(run.algorithm, Color.GRAY));
+                g2.fillOval(x - 5, y - 5, 10, 10);
+            }
+
+            // Legend
+            int y = top + 5;
+            for (Map.Entry<String, Color> entry : COLORS.entrySet()) {
+                g2.setColor(entry.getValue());
+                g2.fillOval(right - 150, y - 8, 10, 10);
+                g2.setColor(Color.BLACK);
+                g2.drawString(entry.getKey(), right - 135, y + 1);
+                y += 16;
+            }
+        }
+    }
+
+    // Test driver: compares the solvers on one random instance
+    public static void main(String[] args) {
+        int n = 11;
+        Random random = new Random(42);
+        int[][] dist = new int[n][n];
+        String[] names = new String[n];
+        for (int i = 0; i < n; i++) {
+            names[i] = "Stop " + i;
+            for (int j = i + 1; j < n; j++) dist[i][j] = dist[j][i] = 10 + random.nextInt(90);
+        }
+
+        Map<String, Function<DeliveryRouteOptimization.SolverMonitor, String>> solvers = new LinkedHashMap<>();
+        solvers.put("Greedy", m -> DeliveryRouteOptimization.greedyTSP(dist, names, m));
+        solvers.put("Divide and conquer", m -> DivideAndConquer.solve(dist, names, m));
+        solvers.put("Dynamic programming", m -> DeliveryRouteOptimization.dynamicProgrammingTSP(dist, names, m));
+        solvers.put("Backtracking", m -> DeliveryRouteOptimization.backtrackingTSP(dist, names, m));
+
+        List<Run> runs = new ArrayList<>();
+        for (Map.Entry<String, Function<DeliveryRouteOptimization.SolverMonitor, String>> solver : solvers.entrySet()) {
+            Run run = measure(solver.getKey(), 1, n, new DeliveryRouteOptimization.SolverMonitor(), solver.getValue());
+            runs.add(run);
+            System.out.printf("%-20s %9.2f ms %10d KB %10d nodes %10d memo hits  cost %s%n", run.algorithm, run.wallMillis,
+                run.allocatedBytes / 1024, run.nodesExpanded, run.memoHits, run.cost);
+        }
+
+        if (!GraphicsEnvironment.isHeadless()) {
+            SwingUtilities.invokeLater(() -> {
+                PerformanceDashboard dashboard = new PerformanceDashboard();
+                runs.forEach(dashboard::record);
+                dashboard.frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+                dashboard.show();
+            });
+        }
+    }
+}
@@ -0,0 +1,312 @@
+import java.util.*;
+
+/**
+ * Streaming median / percentile tracking for delivery durations.
+ * - TwoHeap: exact quantile with the classic MaxHeap (lower part) + MinHeap
+ *   (upper part) pattern, optional sliding window of the last W values.
+ * - TDigest: bounded-memory approximate quantiles for unbounded streams.
+ */
+public class QuantileTracker {
+
+    // ===================== Exact Two-Heap Tracker =====================
+    /**
+     * Keeps the lowest ceil(q * n) values in a max-ordered heap and the rest in
+     * a min-ordered heap, so the q-quantile is always the top of the lower heap.
+     * add() is O(log n), quantile()/median() are O(1).
+     * Window expiry uses lazy deletion: an expired value is only counted as
+     * removed and is physically dropped once it reaches the top of its heap.
+     * Expired values buried deeper are cleared by rebuilding both heaps from the
+     * window once they hold more than 2 * W entries, so memory stays O(W) and
+     * add() stays O(log W) amortised.
+     */
+    public static class TwoHeap {
+        private final double q;
+        private MinMaxHeap lower = new MinMaxHeap();        // Read through peekMax/extractMax
+        private MinMaxHeap upper = new MinMaxHeap();        // Read through peekMin/extractMin
+        private int lowerSize, upperSize;                   // Live element counts
+        private final Map<Integer, Integer> expiredLower = new HashMap<>();
+        private final Map<Integer, Integer> expiredUpper = new HashMap<>();
+
+        private final int[] window;                         // Ring buffer of the last W values, null if unbounded
+        private int windowStart, windowCount;
+
+        /**
+         * @param q Quantile to track, in (0, 1]; 0.5 for the median
+         */
+        public TwoHeap(double q) {
+            this(q, 0);
+        }
+
+        /**
+         * @param windowSize Only the most recent windowSize values count; 0 for no expiry
+         */
+        public TwoHeap(double q, int windowSize) {
+            if (!(q > 0 && q <= 1)) throw new IllegalArgumentException("Quantile must be in (0, 1]: " + q);
+            if (windowSize < 0) throw new IllegalArgumentException("Invalid window size: " + windowSize);
+            this.q = q;
+            this.window = windowSize > 0 ? new int[windowSize] : null;
+        }
+
+        public void add(int value) {
+            if (lowerSize == 0 || value <= lower.peekMax()) {
+                lower.insert(value);
+                lowerSize++;
+            } else {
+                upper.insert(value);
+                upperSize++;
+            }
+
+            if (window != null) {
+                if (windowCount == window.length) {
+                    int expired = window[windowStart];
+                    window[windowStart] = value;
+                    windowStart = (windowStart + 1) % window.length;
+                    expire(expired);
+                } else {
+                    window[(windowStart + windowCount++) % window.length] = value;
+                }
+            }
+            rebalance();
+            if (window != null && lower.size() + upper.size() > 2 * window.length) compact();
+        }
+
+        // Nearest-rank q-quantile of the live values
+        public int quantile() {
+            if (size() == 0) throw new IllegalStateException("No values tracked");
+            return lower.peekMax();
+        }
+
+        /**
+         * Median of the live values; averages the two middle values for an even count.
+         * Only valid for a tracker created with q = 0.5.
+         */
+        public double median() {
+            if (q != 0.5) throw new IllegalStateException("Tracker was created for quantile " + q);
+            if (size() == 0) throw new IllegalStateException("No values tracked");
+            if (size() % 2 == 1) return lower.peekMax();
+            return ((double) lower.peekMax() + upper.peekMin()) / 2;
+        }
+
+        public int size() {
+            return lowerSize + upperSize;
+        }
+
+        // Tops of both heaps are always live, so the top of lower decides membership
+        private void expire(int value) {
+            if (value <= lower.peekMax()) {
+                expiredLower.merge(value, 1, Integer::sum);
+                lowerSize--;
+                pruneLower();
+            } else {
+                expiredUpper.merge(value, 1, Integer::sum);
+                upperSize--;
+                pruneUpper();
+            }
+        }
+
+        private void rebalance() {
+            int n = size();
+            int target = Math.max(1, (int) Math.ceil(q * n));
+            while (lowerSize > target) {
+                upper.insert(lower.extractMax());
+                lowerSize--;
+                upperSize++;
+                pruneLower();
+            }
+            while (lowerSize < target && upperSize > 0) {
+                lower.insert(upper.extractMin());
+                upperSize--;
+                lowerSize++;
+                pruneUpper();
+            }
+        }
+
+        /**
+         * Rebuilds both heaps from the live values in the window, dropping every
+         * lazily deleted entry. Runs at most once per W adds, O(W log W) each time.
+         */
+        private void compact() {
+            int[] live = new int[windowCount];
+            for (int i = 0; i < windowCount; i++) live[i] = window[(windowStart + i) % window.length];
+            Arrays.sort(live);
+            // Live lower values are never above live upper values, so the split point keeps the sizes
+            lower = new MinMaxHeap();
+            upper = new MinMaxHeap();
+            for (int i = 0; i < lowerSize; i++) lower.insert(live[i]);
+            for (int i = lowerSize; i < live.length; i++) upper.insert(live[i]);
+            expiredLower.clear();
+            expiredUpper.clear();
+        }
+
+        // Entries held by both heaps, including expired ones not yet dropped
+        int physicalSize() {
+            return lower.size() + upper.size();
+        }
+
+        private void pruneLower() {
+            while (!lower.isEmpty() && removeExpired(expiredLower, lower.peekMax())) {
+                lower.extractMax();
+            }
+        }
+
+        private void pruneUpper() {
+            while (!upper.isEmpty() && removeExpired(expiredUpper, upper.peekMin())) {
+                upper.extractMin();
+            }
+        }
+
+        private static boolean removeExpired(Map<Integer, Integer> expired, int value) {
+            Integer count = expired.get(value);
+            if (count == null) return false;
+            if (count == 1) expired.remove(value);
+            else expired.put(value, count - 1);
+            return true;
+        }
+    }
+
+    // ===================== Approximate t-digest =====================
+    /**
+     * Merging t-digest (Dunning). Values are buffered, then merged into at most
+     * about compression centroids using the arcsine scale function, which keeps
+     * centroids small near the tails so p90/p99 stay accurate.
+     * Memory is O(compression) regardless of stream length.
+     */
+    public static class TDigest {
+        private final double compression;
+        private double[] means = new double[0];
+        private double[] weights = new double[0];
+        private int centroids;
+        private double mergedWeight;
+
+        private final double[] buffer;
+        private int buffered;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        public TDigest() {
+            this(100);
+        }
+
+        public TDigest(double compression) {
+            if (compression < 10) throw new IllegalArgumentException("Compression too small: " + compression);
+            this.compression = compression;
+            this.buffer = new double[(int) (5 * compression)];
+        }
+
+        public void add(double value) {
+            if (buffered == buffer.length) merge();
+            buffer[buffered++] = value;
+            if (value < min) min = value;
+            if (value > max) max = value;
+        }
+
+        public long size() {
+            return (long) (mergedWeight + buffered);
+        }
+
+        public int centroidCount() {
+            merge();
+            return centroids;
+        }
+
+        /**
+         * Approximate q-quantile, interpolating between centroid centres
+         */
+        public double quantile(double q) {
+            if (q < 0 || q > 1) throw new IllegalArgumentException("Quantile must be in [0, 1]: " + q);
+            merge();
+            if (centroids == 0) throw new IllegalStateException("No values tracked");
+            if (centroids == 1) return means[0];
+
+            double target = q * mergedWeight;
+            if (target < weights[0] / 2) {
+                return min + (means[0] - min) * target / (weights[0] / 2);
+            }
+            double cumulative = weights[0] / 2; // Centre of the current centroid
+            for (int i = 0; i < centroids - 1; i++) {
+                double gap = (weights[i] + weights[i + 1]) / 2;
+                if (target <= cumulative + gap) {
+                    return means[i] + (means[i + 1] - means[i]) * (target - cumulative) / gap;
+                }
+                cumulative += gap;
+            }
+            double tail = weights[centroids - 1] / 2;
+            return means[centroids - 1] + (max - means[centroids - 1]) * Math.min(1, (target - cumulative) / tail);
+        }
+
+        private double scale(double q) {
+            return compression / (2 * Math.PI) * Math.asin(2 * q - 1);
+        }
+
+        // Merge the sorted buffer with the sorted centroids in one pass
+        private void merge() {
+            if (buffered == 0) return;
+            Arrays.sort(buffer, 0, buffered);
+            double total = mergedWeight + buffered;
+            double[] newMeans = new double[centroids + buffered];
+            double[] newWeights = new double[centroids + buffered];
+            int count = 0;
+            double before = 0; // Weight of all emitted centroids
+
+            int i = 0, j = 0;
+            while (i < centroids || j < buffered) {
+                double mean, weight;
+                if (j == buffered || (i < centroids && means[i] <= buffer[j])) {
+                    mean = means[i];
+                    weight = weights[i++];
+                } else {
+                    mean = buffer[j++];
+                    weight = 1;
+                }
+
+                if (count > 0) {
+                    int last = count - 1;
+                    double proposed = newWeights[last] + weight;
+                    if (scale((before + proposed) / total) - scale(before / total) <= 1) {
+                        newMeans[last] += (mean - newMeans[last]) * weight / proposed;
+                        newWeights[last] = proposed;
+                        continue;
+                    }
+                    before += newWeights[last];
+                }
+                newMeans[count] = mean;
+                newWeights[count++] = weight;
+            }
+
+            means = newMeans;
+            weights = newWeights;
+            centroids = count;
+            mergedWeight = total;
+            buffered = 0;
+        }
+    }
+
+    // Test driver
+    public static void main(String[] args) {
+        TwoHeap median = new TwoHeap(0.5);
+        for (int minutes : new int[]{40, 12, 35, 18, 30, 22}) {
+            median.add(minutes);
+        }
+        System.out.println("Median delivery time: " + median.median()); // Should return 26.0
+
+        // p90 over the last 1000 deliveries
+        Random random = new Random(42);
+        TwoHeap p90 = new TwoHeap(0.9, 1000);
+        TDigest digest = new TDigest();
+        int[] all = new int[1_000_000];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = 10 + (int) Math.abs(random.nextGaussian() * 25);
+            p90.add(all[i]);
+            digest.add(all[i]);
+        }
+        int[] recent = Arrays.copyOfRange(all, all.length - 1000, all.length);
+        Arrays.sort(recent);
+        System.out.println("Windowed p90: " + p90.quantile() + " (exact " + recent[899] + ")");
+        System.out.println("Heap entries after " + all.length + " values: " + p90.physicalSize()
+            + " (bounded by " + 2 * 1000 + ": " + (p90.physicalSize() <= 2 * 1000) + ")");
+
+        Arrays.sort(all);
+        System.out.printf("t-digest p99: %.1f (exact %d, %d centroids)%n",
+            digest.quantile(0.99), all[(int) Math.ceil(0.99 * all.length) - 1], digest.centroidCount());
+    }
+}
@@ -0,0 +1,147 @@
+import java.util.*;
+
+/**
+ * LSD radix sort for int[] and long[] keys.
+ * Keys are read as unsigned after flipping the sign bit, so negative numbers
+ * sort before positive ones. Histograms for every digit are built in one pass
+ * over the input, and a pass whose digit is the same for all keys is skipped.
+ * The auxiliary buffer is kept between calls (calls are serialised per instance).
+ */
+public class RadixSort {
+    private final int digitBits;
+    private final int mask;
+
+    private int[] intBuffer = new int[0];
+    private long[] longBuffer = new long[0];
+
+    // 11-bit digits: three passes for int keys
+    public RadixSort() {
+        this(11);
+    }
+
+    /**
+     * @param digitBits Bits per digit, typically 8 (256 buckets) or 11 (2048 buckets)
+     */
+    public RadixSort(int digitBits) {
+        if (digitBits < 1 || digitBits > 16) throw new IllegalArgumentException("Digit bits must be in [1, 16]: " + digitBits);
+        this.digitBits = digitBits;
+        this.mask = (1 << digitBits) - 1;
+    }
+
+    public synchronized void sort(int[] arr) {
+        int n = arr.length;
+        if (n < 2) return;
+        int passes = (32 + digitBits - 1) / digitBits;
+
+        // All histograms in one read of the input
+        int[][] counts = new int[passes][mask + 1];
+        for (int value : arr) {
+            int key = value ^ Integer.MIN_VALUE;
+            for (int p = 0; p < passes; p++) {
+                counts[p][(key >>> (p * digitBits)) & mask]++;
+            }
+        }
+
+        if (intBuffer.length < n) intBuffer = new int[n];
+        int[] src = arr, dst = intBuffer;
+        for (int p = 0; p < passes; p++) {
+            int[] count = counts[p];
+            int shift = p * digitBits;
+            if (count[((arr[0] ^ Integer.MIN_VALUE) >>> shift) & mask] == n) continue; // Constant digit
+
+            // Exclusive prefix sums give each bucket's first output slot
+            int sum = 0;
+            for (int d = 0; d <= mask; d++) {
+                int c = count[d];
+                count[d] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < n; i++) {
+                int value = src[i];
+                dst[count[((value ^ Integer.MIN_VALUE) >>> shift) & mask]++] = value;
+            }
+            int[] temp = src;
+            src = dst;
+            dst = temp;
+        }
+        if (src != arr) System.arraycopy(src, 0, arr, 0, n);
+    }
+
+    public synchronized void sort(long[] arr) {
+        int n = arr.length;
+        if (n < 2) return;
+        int passes = (64 + digitBits - 1) / digitBits;
+
+        int[][] counts = new int[passes][mask + 1];
+        for (long value : arr) {
+            long key = value ^ Long.MIN_VALUE;
+            for (int p = 0; p < passes; p++) {
+                counts[p][(int) (key >>> (p * digitBits)) & mask]++;
+            }
+        }
+
+        if (longBuffer.length < n) longBuffer = new long[n];
+        long[] src = arr, dst = longBuffer;
+        for (int p = 0; p < passes; p++) {
+            int[] count = counts[p];
+            int shift = p * digitBits;
+            if (count[(int) ((arr[0] ^ Long.MIN_VALUE) >>> shift) & mask] == n) continue;
+
+            int sum = 0;
+            for (int d = 0; d <= mask; d++) {
+                int c = count[d];
+                count[d] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < n; i++) {
+                long value = src[i];
+                dst[count[(int) ((value ^ Long.MIN_VALUE) >>> shift) & mask]++] = value;
+            }
+            long[] temp = src;
+            src = dst;
+            dst = temp;
+        }
+        if (src != arr) System.arraycopy(src, 0, arr, 0, n);
+    }
+
+    // Drop the auxiliary buffers
+    public synchronized void releaseBuffers() {
+        intBuffer = new int[0];
+        longBuffer = new long[0];
+    }
+
+    // Test driver
+    public static void main(String[] args) {
+        int n = 10_000_000;
+        Random random = new Random(42);
+        RadixSort radix8 = new RadixSort(8);
+        RadixSort radix11 = new RadixSort(11);
+
+        for (int round = 0; round < 3; round++) {
+            int[] ids = random.ints(n).toArray();
+            int[] a = ids.clone(), b = ids.clone(), c = ids.clone();
+
+            long start = System.nanoTime();
+            DeliveryRouteOptimization.hybridSort(a);
+            long hybrid = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            radix8.sort(b);
+            long eightBit = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            radix11.sort(c);
+            long elevenBit = System.nanoTime() - start;
+
+            System.out.printf("%d ints: hybridSort %d ms, radix 8-bit %d ms, radix 11-bit %d ms (match: %b)%n",
+                n, hybrid / 1_000_000, eightBit / 1_000_000, elevenBit / 1_000_000,
+                Arrays.equals(a, b) && Arrays.equals(a, c));
+        }
+
+        // Small ids: the upper digit passes are skipped
+        int[] zones = random.ints(n, 0, 2000).toArray();
+        long start = System.nanoTime();
+        radix11.sort(zones);
+        System.out.println("Zone ids < 2000 sorted in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+}
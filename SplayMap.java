@@ -0,0 +1,295 @@
+import java.util.*;
+
+/**
+ * Bounded key/value cache on a splay tree with primitive long keys.
+ * Built on the Syed.SplayTree structure (bottom-up splaying with parent
+ * pointers): every get/put splays the entry to the root, so hot keys stay
+ * near the top. Once capacity is reached one entry is evicted per insert:
+ * - LEAST_RECENT: exact LRU through a recency list threaded through the nodes
+ * - DEEPEST: a cold leaf found by descending from the root towards the less
+ *   recently splayed child; no list maintenance, O(depth) per eviction
+ * Hit, miss and eviction counts are kept for tuning.
+ */
+public class SplayMap<V> {
+    public enum Eviction { LEAST_RECENT, DEEPEST }
+
+    private static class Node<V> {
+        long key;
+        V value;
+        long lastAccess;              // Logical time of the last splay
+        Node<V> left, right, parent;
+        Node<V> newer, older;         // Recency list, LEAST_RECENT only
+
+        Node(long key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private final int capacity;
+    private final Eviction eviction;
+    private Node<V> root;
+    private Node<V> newest, oldest;
+    private int size;
+    private long clock;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public SplayMap(int capacity) {
+        this(capacity, Eviction.LEAST_RECENT);
+    }
+
+    public SplayMap(int capacity, Eviction eviction) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        this.capacity = capacity;
+        this.eviction = Objects.requireNonNull(eviction);
+    }
+
+    /**
+     * @return The cached value, or null on a miss
+     */
+    public V get(long key) {
+        Node<V> node = findNode(key);
+        if (node == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        touch(node);
+        return node.value;
+    }
+
+    /**
+     * Adds or replaces an entry, evicting one entry if the map is full
+     * @return The previous value for key, or null
+     */
+    public V put(long key, V value) {
+        Objects.requireNonNull(value, "value");
+        Node<V> existing = findNode(key);
+        if (existing != null) {
+            V previous = existing.value;
+            existing.value = value;
+            touch(existing);
+            return previous;
+        }
+
+        if (size == capacity) evict();
+
+        // Standard BST insertion
+        Node<V> node = new Node<>(key, value);
+        Node<V> current = root, parent = null;
+        while (current != null) {
+            parent = current;
+            current = key < current.key ? current.left : current.right;
+        }
+        node.parent = parent;
+        if (parent == null) {
+            root = node;
+        } else if (key < parent.key) {
+            parent.left = node;
+        } else {
+            parent.right = node;
+        }
+        size++;
+        touch(node);
+        return null;
+    }
+
+    public V remove(long key) {
+        Node<V> node = findNode(key);
+        if (node == null) return null;
+        unlink(node);
+        return node.value;
+    }
+
+    public boolean containsKey(long key) {
+        return findNode(key) != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    // Internal BST search helper; splays the last node on the path
+    private Node<V> findNode(long key) {
+        Node<V> current = root, last = null;
+        while (current != null) {
+            last = current;
+            if (key == current.key) break;
+            current = key < current.key ? current.left : current.right;
+        }
+        if (last != null) splay(last);
+        return (last != null && last.key == key) ? last : null;
+    }
+
+    // Mark node as just used and splay it to the root
+    private void touch(Node<V> node) {
+        node.lastAccess = ++clock;
+        if (eviction == Eviction.LEAST_RECENT) {
+            if (node != newest) {
+                listRemove(node);
+                node.older = newest;
+                if (newest != null) newest.newer = node;
+                newest = node;
+                if (oldest == null) oldest = node;
+            }
+        }
+        splay(node);
+    }
+
+    private void evict() {
+        Node<V> victim;
+        if (eviction == Eviction.LEAST_RECENT) {
+            victim = oldest;
+        } else {
+            victim = root;
+            while (victim.left != null || victim.right != null) {
+                if (victim.left == null) victim = victim.right;
+                else if (victim.right == null) victim = victim.left;
+                else victim = victim.left.lastAccess <= victim.right.lastAccess ? victim.left : victim.right;
+            }
+        }
+        unlink(victim);
+        evictions++;
+    }
+
+    // Remove node from the tree and the recency list
+    private void unlink(Node<V> node) {
+        if (eviction == Eviction.LEAST_RECENT) listRemove(node);
+        size--;
+
+        if (node.left == null && node.right == null && node.parent != null) {
+            // Leaf: detach in place without restructuring
+            if (node.parent.left == node) node.parent.left = null;
+            else node.parent.right = null;
+            node.parent = null;
+            return;
+        }
+
+        splay(node);
+        Node<V> leftTree = node.left, rightTree = node.right;
+        if (leftTree == null) {
+            root = rightTree;
+            if (rightTree != null) rightTree.parent = null;
+            return;
+        }
+        leftTree.parent = null;
+        root = leftTree;
+        Node<V> max = leftTree;
+        while (max.right != null) max = max.right;
+        splay(max);
+        max.right = rightTree;
+        if (rightTree != null) rightTree.parent = max;
+    }
+
+    private void listRemove(Node<V> node) {
+        if (node.newer != null) node.newer.older = node.older;
+        else if (newest == node) newest = node.older;
+        if (node.older != null) node.older.newer = node.newer;
+        else if (oldest == node) oldest = node.newer;
+        node.newer = node.older = null;
+    }
+
+    // Core splaying operation with zig, zig-zig, and zig-zag cases
+    private void splay(Node<V> node) {
+        while (node.parent != null) {
+            Node<V> parent = node.parent;
+            Node<V> grandparent = parent.parent;
+
+            if (grandparent == null) {
+                // Zig case
+                if (node == parent.left) rotateRight(parent);
+                else rotateLeft(parent);
+            } else if (node == parent.left && parent == grandparent.left) {
+                // Zig-zig case (left-left)
+                rotateRight(grandparent);
+                rotateRight(parent);
+            } else if (node == parent.right && parent == grandparent.right) {
+                // Zig-zig case (right-right)
+                rotateLeft(grandparent);
+                rotateLeft(parent);
+            } else if (node == parent.right && parent == grandparent.left) {
+                // Zig-zag case (left-right)
+                rotateLeft(parent);
+                rotateRight(grandparent);
+            } else {
+                // Zig-zag case (right-left)
+                rotateRight(parent);
+                rotateLeft(grandparent);
+            }
+        }
+        root = node;
+    }
+
+    private void rotateLeft(Node<V> node) {
+        Node<V> rightChild = node.right;
+        node.right = rightChild.left;
+        if (rightChild.left != null) rightChild.left.parent = node;
+        rightChild.parent = node.parent;
+        if (node.parent == null) {
+            root = rightChild;
+        } else if (node == node.parent.left) {
+            node.parent.left = rightChild;
+        } else {
+            node.parent.right = rightChild;
+        }
+        rightChild.left = node;
+        node.parent = rightChild;
+    }
+
+    private void rotateRight(Node<V> node) {
+        Node<V> leftChild = node.left;
+        node.left = leftChild.right;
+        if (leftChild.right != null) leftChild.right.parent = node;
+        leftChild.parent = node.parent;
+        if (node.parent == null) {
+            root = leftChild;
+        } else if (node == node.parent.right) {
+            node.parent.right = leftChild;
+        } else {
+            node.parent.left = leftChild;
+        }
+        leftChild.right = node;
+        node.parent = leftChild;
+    }
+
+    // Test driver
+    public static void main(String[] args) {
+        SplayMap<String> cache = new SplayMap<>(2);
+        cache.put(101L, "Warehouse A");
+        cache.put(102L, "Warehouse B");
+        cache.get(101L);
+        cache.put(103L, "Center C"); // Evicts 102, the least recently used
+        System.out.println("Cached 102: " + cache.get(102L) + ", cached 101: " + cache.get(101L));
+
+        // Skewed lookups of location metadata through a 10k-entry cache
+        for (Eviction policy : Eviction.values()) {
+            SplayMap<String> locations = new SplayMap<>(10_000, policy);
+            Random random = new Random(42);
+            for (int i = 0; i < 2_000_000; i++) {
+                double u = random.nextDouble();
+                long locationId = (long) (1_000_000 * u * u * u * u);
+                if (locations.get(locationId) == null) {
+                    locations.put(locationId, "Location " + locationId);
+                }
+            }
+            System.out.printf("%s: hit rate %.3f, %d evictions%n",
+                policy, locations.hitRate(), locations.getEvictions());
+        }
+    }
+}
@@ -0,0 +1,230 @@
+import java.util.*;
+
+/**
+ * Read-only search indexes built once from a sorted int array.
+ * binarySearch on a plain sorted array jumps across the whole array, so on
+ * large arrays almost every probe is a cache miss. Both layouts here keep the
+ * values probed together close together in memory:
+ * - Eytzinger: BFS order (children of k at 2k and 2k+1); the top levels of
+ *   every search share a few cache lines. Best while the array fits in cache.
+ * - BTree: static B+ tree with 16 keys (one cache line) per node, so a search
+ *   touches about log17(n) lines instead of log2(n). The leaf layer is the
+ *   sorted array itself, so the leaf slot reached is the answer. Best beyond L2.
+ * Both answer search/lowerBound/upperBound with indices into the source array;
+ * the source array is not referenced after build.
+ */
+public class StaticSearchIndex {
+
+    // ===================== Eytzinger layout =====================
+
+    public static class Eytzinger {
+        private static final int MAX_SIZE = (1 << 30) - 1;  // Descents reach node 2n + 1, which must fit in an int
+
+        private final int[] tree;      // 1-based BFS layout, tree[0] unused
+        private final int[] position;  // position[k] = index of tree[k] in the sorted source
+        private final int n;
+
+        /**
+         * @param sorted Array in ascending order
+         */
+        public Eytzinger(int[] sorted) {
+            if (sorted.length > MAX_SIZE) {
+                throw new IllegalArgumentException("Too many values for an Eytzinger layout: " + sorted.length + " (max " + MAX_SIZE + ")");
+            }
+            n = sorted.length;
+            tree = new int[n + 1];
+            position = new int[n + 1];
+            int next = 0;
+
+            // In-order walk of the implicit tree assigns the sorted values in order
+            int k = 1;
+            int[] stack = new int[33];
+            int depth = 0;
+            while (k <= n || depth > 0) {
+                if (k <= n) {
+                    stack[depth++] = k;
+                    k = 2 * k;
+                } else {
+                    k = stack[--depth];
+                    tree[k] = sorted[next];
+                    position[k] = next++;
+                    k = 2 * k + 1;
+                }
+            }
+        }
+
+        public int size() {
+            return n;
+        }
+
+        /**
+         * Same contract as DeliveryRouteOptimization.binarySearch
+         * @return An index of target in the source array, or -1
+         */
+        public int search(int target) {
+            int k = lowerBoundNode(target);
+            return (k != 0 && tree[k] == target) ? position[k] : -1;
+        }
+
+        // First index whose value is >= target (n if none)
+        public int lowerBound(int target) {
+            int k = lowerBoundNode(target);
+            return k == 0 ? n : position[k];
+        }
+
+        // First index whose value is > target (n if none)
+        public int upperBound(int target) {
+            int k = 1;
+            while (k <= n) {
+                k = 2 * k + (tree[k] <= target ? 1 : 0);
+            }
+            k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+            return k == 0 ? n : position[k];
+        }
+
+        // Branchless descent to the bottom; stripping the trailing right turns
+        // leaves the node of the first value >= target, or 0
+        private int lowerBoundNode(int target) {
+            int k = 1;
+            while (k <= n) {
+                k = 2 * k + (tree[k] < target ? 1 : 0);
+            }
+            return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+        }
+    }
+
+    // ===================== Static B+ tree =====================
+
+    public static class BTree {
+        private static final int B = 16;        // Keys per node: 64 bytes
+
+        private final int[] keys;               // All layers, root first, leaves (the sorted values) last
+        private final int[] layerOffset;        // Start of each layer in keys; layer 0 is the leaf layer
+        private final int height;               // Number of internal layers
+        private final int n;
+
+        /**
+         * @param sorted Array in ascending order
+         */
+        public BTree(int[] sorted) {
+            n = sorted.length;
+            // Node counts per layer, leaves first
+            List<Integer> sizes = new ArrayList<>();
+            int nodes = Math.max(1, (n + B - 1) / B);
+            sizes.add(nodes);
+            while (nodes > 1) {
+                nodes = (nodes + B) / (B + 1);
+                sizes.add(nodes);
+            }
+            height = sizes.size() - 1;
+
+            layerOffset = new int[sizes.size()];
+            long total = 0;
+            for (int h = height; h >= 0; h--) {
+                layerOffset[h] = (int) total;
+                total += (long) sizes.get(h) * B;
+                // Padded layers must fit in one array, which also keeps every node index an int
+                if (total > Integer.MAX_VALUE - 8) {
+                    throw new IllegalArgumentException("Too many values for a B-tree: " + n);
+                }
+            }
+            keys = new int[(int) total];
+
+            int leaves = layerOffset[0];
+            Arrays.fill(keys, Integer.MAX_VALUE); // Padding sorts after every real key
+            System.arraycopy(sorted, 0, keys, leaves, n);
+
+            // Internal key j of a node is the smallest value under its child j+1
+            for (int h = 1; h <= height; h++) {
+                long span = 1;
+                for (int i = 1; i < h; i++) span *= B + 1; // Leaf blocks under one node of layer h-1
+                for (int k = 0; k < sizes.get(h); k++) {
+                    for (int j = 0; j < B; j++) {
+                        long first = ((long) k * (B + 1) + j + 1) * span * B;
+                        if (first < n) keys[layerOffset[h] + k * B + j] = sorted[(int) first];
+                    }
+                }
+            }
+        }
+
+        public int size() {
+            return n;
+        }
+
+        /**
+         * Same contract as DeliveryRouteOptimization.binarySearch
+         * @return An index of target in the source array, or -1
+         */
+        public int search(int target) {
+            int index = lowerBound(target);
+            return (index < n && keys[layerOffset[0] + index] == target) ? index : -1;
+        }
+
+        // First index whose value is >= target (n if none)
+        public int lowerBound(int target) {
+            int k = 0;
+            for (int h = height; h > 0; h--) {
+                k = k * (B + 1) + rank(layerOffset[h] + k * B, target);
+            }
+            return Math.min(n, k * B + rank(layerOffset[0] + k * B, target));
+        }
+
+        // First index whose value is > target (n if none)
+        public int upperBound(int target) {
+            if (target == Integer.MAX_VALUE) return n;
+            return lowerBound(target + 1);
+        }
+
+        // Keys < target in one node; a fixed-length count has no branches to mispredict
+        private int rank(int base, int target) {
+            int i = 0;
+            for (int j = 0; j < B; j++) i += keys[base + j] < target ? 1 : 0;
+            return i;
+        }
+    }
+
+    // Test driver
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        int lookups = 5_000_000;
+
+        for (int n : new int[]{10_000, 1_000_000, 20_000_000}) {
+            int[] ids = random.ints(n).toArray();
+            DeliveryRouteOptimization.sort(ids, DeliveryRouteOptimization.SortAlgorithm.RADIX);
+            Eytzinger eytzinger = new Eytzinger(ids);
+            BTree btree = new BTree(ids);
+
+            int[] targets = new int[lookups];
+            for (int i = 0; i < lookups; i++) {
+                targets[i] = random.nextBoolean() ? ids[random.nextInt(n)] : random.nextInt();
+            }
+
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                int plainFound = 0;
+                for (int target : targets) {
+                    if (DeliveryRouteOptimization.binarySearch(ids, target) != -1) plainFound++;
+                }
+                long plain = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                int eytzingerFound = 0;
+                for (int target : targets) {
+                    if (eytzinger.search(target) != -1) eytzingerFound++;
+                }
+                long bfs = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                int btreeFound = 0;
+                for (int target : targets) {
+                    if (btree.search(target) != -1) btreeFound++;
+                }
+                long blocked = System.nanoTime() - start;
+
+                System.out.printf("%d ids, %d lookups: binarySearch %d ms, Eytzinger %d ms, B-tree %d ms (found %d / %d / %d)%n",
+                    n, lookups, plain / 1_000_000, bfs / 1_000_000, blocked / 1_000_000,
+                    plainFound, eytzingerFound, btreeFound);
+            }
+        }
+    }
+}
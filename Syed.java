@@ -1,4 +1,7 @@
 import java.util.*;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 public class Syed {
     
@@ -66,10 +69,22 @@ public class Syed {
     /**
      * Splay Tree implementation with self-adjusting property
      * Frequently accessed nodes move closer to root (O(log n) amortized)
+     * SplayMode trades adaptation for fewer rotations on read-heavy workloads
+     * Duplicates are counted per node (multiset), so the tree stays O(distinct) in size
      */
     public static class SplayTree {
+        /**
+         * How an accessed node is restructured:
+         * FULL - classic splay to the root on every access
+         * SEMI - semi-splaying: zig-zig only lifts the parent, roughly halving the path
+         * DEPTH_THRESHOLD - full splay only when the access depth exceeds the parameter
+         * EVERY_KTH - full splay on every k-th access only (k = parameter)
+         */
+        public enum SplayMode { FULL, SEMI, DEPTH_THRESHOLD, EVERY_KTH }
+
         private static class Node {
             int value;
+            int count = 1;  // Multiplicity of value
             Node left, right, parent;
             
             public Node(int value) {
@@ -79,24 +94,70 @@ public class Syed {
         }
         
         private Node root;
+        private int size;           // Total elements, duplicates included
+        private int distinctSize;   // Nodes
+        private SplayMode mode = SplayMode.FULL;
+        private int modeParameter;
+        private long operations;    // Accesses (inserts and successful searches)
+        private long rotations;
+        private int lastDepth;      // Depth of the node found by the last descent
         
         public SplayTree() {
             this.root = null;
         }
         
+        public SplayTree(SplayMode mode, int parameter) {
+            this();
+            setMode(mode, parameter);
+        }
+        
+        /**
+         * @param parameter Depth threshold for DEPTH_THRESHOLD, k for EVERY_KTH, ignored otherwise
+         */
+        public void setMode(SplayMode mode, int parameter) {
+            if ((mode == SplayMode.DEPTH_THRESHOLD && parameter < 0) || (mode == SplayMode.EVERY_KTH && parameter <= 0)) {
+                throw new IllegalArgumentException("Invalid parameter " + parameter + " for " + mode);
+            }
+            this.mode = mode;
+            this.modeParameter = parameter;
+        }
+        
+        // Average rotations per access, for tuning the mode
+        public double rotationsPerOperation() {
+            return operations == 0 ? 0 : (double) rotations / operations;
+        }
+        
+        public void resetStatistics() {
+            operations = 0;
+            rotations = 0;
+        }
+        
         // Insert with splaying to bring new node to root
         public void insert(int value) {
-            Node newNode = new Node(value);
+            add(value);
+        }
+        
+        // Multiset add: a duplicate only bumps the count of the existing node
+        public void add(int value) {
+            size++;
             if (root == null) {
-                root = newNode;
+                root = new Node(value);
+                distinctSize++;
                 return;
             }
             
             // Standard BST insertion
             Node current = root;
             Node parent = null;
+            int depth = 0;
             while (current != null) {
+                if (value == current.value) {
+                    current.count++;
+                    access(current, depth);
+                    return;
+                }
                 parent = current;
+                depth++;
                 if (value < current.value) {
                     current = current.left;
                 } else {
@@ -104,6 +165,8 @@ public class Syed {
                 }
             }
             
+            Node newNode = new Node(value);
+            distinctSize++;
             newNode.parent = parent;
             if (value < parent.value) {
                 parent.left = newNode;
@@ -111,14 +174,237 @@ public class Syed {
                 parent.right = newNode;
             }
             
-            splay(newNode);  // Self-adjusting step
+            access(newNode, depth);  // Self-adjusting step
+        }
+        
+        // Number of copies of value in the tree
+        public int count(int value) {
+            Node node = findNode(value);
+            if (node == null) return 0;
+            access(node, lastDepth);
+            return node.count;
+        }
+        
+        /**
+         * Removes one copy of value; the node goes once its count reaches zero
+         * @return false if value was not present
+         */
+        public boolean removeOne(int value) {
+            Node node = findNode(value);
+            if (node == null) return false;
+            size--;
+            if (--node.count > 0) {
+                access(node, lastDepth);
+                return true;
+            }
+            
+            // Splay to the root, then join the two subtrees
+            distinctSize--;
+            splay(node);
+            Node leftTree = node.left, rightTree = node.right;
+            if (leftTree == null) {
+                root = rightTree;
+                if (rightTree != null) rightTree.parent = null;
+                return true;
+            }
+            leftTree.parent = null;
+            root = leftTree;
+            Node max = leftTree;
+            while (max.right != null) max = max.right;
+            splay(max);
+            max.right = rightTree;
+            if (rightTree != null) rightTree.parent = max;
+            return true;
+        }
+        
+        /**
+         * Builds a perfectly balanced tree from ascending values in O(n),
+         * instead of n inserts with a full splay each
+         */
+        public static SplayTree fromSorted(int[] sorted) {
+            for (int i = 1; i < sorted.length; i++) {
+                if (sorted[i - 1] > sorted[i]) throw new IllegalArgumentException("Input is not sorted at index " + i);
+            }
+            
+            // Collapse runs of equal values into counted keys
+            int[] keys = new int[sorted.length];
+            int[] counts = new int[sorted.length];
+            int distinct = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (distinct > 0 && keys[distinct - 1] == sorted[i]) {
+                    counts[distinct - 1]++;
+                } else {
+                    keys[distinct] = sorted[i];
+                    counts[distinct++] = 1;
+                }
+            }
+            
+            SplayTree tree = new SplayTree();
+            tree.root = buildBalanced(keys, counts, 0, distinct - 1, null);
+            tree.size = sorted.length;
+            tree.distinctSize = distinct;
+            return tree;
+        }
+        
+        // Middle element becomes the subtree root; recursion depth is only log n
+        private static Node buildBalanced(int[] keys, int[] counts, int lo, int hi, Node parent) {
+            if (lo > hi) return null;
+            int mid = (lo + hi) >>> 1;
+            Node node = new Node(keys[mid]);
+            node.count = counts[mid];
+            node.parent = parent;
+            node.left = buildBalanced(keys, counts, lo, mid - 1, node);
+            node.right = buildBalanced(keys, counts, mid + 1, hi, node);
+            return node;
+        }
+        
+        public int size() {
+            return size;
+        }
+        
+        public int distinctSize() {
+            return distinctSize;
+        }
+        
+        /**
+         * In-order iterator that walks parent pointers: no stack, no recursion,
+         * no allocation per element. The tree must not be searched or modified
+         * while iterating, since splaying restructures it.
+         */
+        public PrimitiveIterator.OfInt iterator() {
+            return new PrimitiveIterator.OfInt() {
+                private Node next = (root == null) ? null : leftmost(root);
+                private int repeats;  // Copies of next already returned
+                
+                public boolean hasNext() {
+                    return next != null;
+                }
+                
+                public int nextInt() {
+                    if (next == null) throw new NoSuchElementException();
+                    int value = next.value;
+                    if (++repeats == next.count) {
+                        next = successor(next, root);
+                        repeats = 0;
+                    }
+                    return value;
+                }
+            };
+        }
+        
+        // Splittable in-order spliterator, same restrictions as iterator()
+        public Spliterator.OfInt spliterator() {
+            return new NodeSpliterator(null, root, size, true);
+        }
+        
+        public IntStream stream() {
+            return StreamSupport.intStream(spliterator(), false);
+        }
+        
+        public IntStream parallelStream() {
+            return StreamSupport.intStream(spliterator(), true);
+        }
+        
+        private static Node leftmost(Node node) {
+            while (node.left != null) node = node.left;
+            return node;
+        }
+        
+        // In-order successor of node, or null once the subtree rooted at top is exhausted
+        private static Node successor(Node node, Node top) {
+            if (node.right != null) return leftmost(node.right);
+            while (node != top && node == node.parent.right) {
+                node = node.parent;
+            }
+            return (node == top) ? null : node.parent;
+        }
+        
+        /**
+         * Covers an optional single head node followed by a whole subtree.
+         * Splitting hands "head + subtree.left" to the prefix and keeps
+         * "subtree root + subtree.right", so a balanced tree splits in half.
+         */
+        private static final class NodeSpliterator implements Spliterator.OfInt {
+            private Node head;       // Emitted before the subtree, may be null
+            private Node subtree;    // Remaining subtree, null when done
+            private Node cursor;     // Next node inside subtree once traversal started
+            private Node current;    // Node whose copies are being emitted
+            private int pending;     // Copies of current still to emit
+            private long estimate;
+            private boolean exact;   // Only the unsplit top-level spliterator knows its size
+            
+            NodeSpliterator(Node head, Node subtree, long estimate, boolean exact) {
+                this.head = head;
+                this.subtree = subtree;
+                this.estimate = estimate;
+                this.exact = exact;
+            }
+            
+            public boolean tryAdvance(IntConsumer action) {
+                if (pending == 0) {
+                    if (head != null) {
+                        current = head;
+                        head = null;
+                    } else if (subtree != null) {
+                        if (cursor == null) cursor = leftmost(subtree);
+                        current = cursor;
+                        cursor = successor(cursor, subtree);
+                        if (cursor == null) subtree = null;
+                    } else {
+                        return false;
+                    }
+                    pending = current.count;
+                }
+                pending--;
+                if (estimate > 0) estimate--;
+                action.accept(current.value);
+                return true;
+            }
+            
+            public Spliterator.OfInt trySplit() {
+                if (pending > 0 || cursor != null || subtree == null) return null;
+                if (subtree.left == null && head == null) {
+                    // Empty left side (common at the root after a splay): emit the root
+                    // first, then split its right subtree
+                    if (subtree.right == null) return null;
+                    head = subtree;
+                    subtree = subtree.right;
+                }
+                if (subtree.left == null) {
+                    // Still nothing on the left: split off the head on its own
+                    NodeSpliterator single = new NodeSpliterator(head, null, 1, false);
+                    head = subtree;
+                    subtree = subtree.right;
+                    estimate = Math.max(estimate - 1, 1);
+                    exact = false;
+                    return single;
+                }
+                NodeSpliterator prefix = new NodeSpliterator(head, subtree.left, estimate / 2, false);
+                head = subtree;
+                subtree = subtree.right;
+                estimate -= estimate / 2;
+                exact = false;
+                return prefix;
+            }
+            
+            public long estimateSize() {
+                return estimate;
+            }
+            
+            public int characteristics() {
+                return ORDERED | SORTED | NONNULL | (exact ? SIZED : 0);
+            }
+            
+            public Comparator<? super Integer> getComparator() {
+                return null; // Natural order
+            }
         }
         
         // Search with splaying to bring found node to root
         public boolean search(int value) {
             Node node = findNode(value);
             if (node != null) {
-                splay(node);  // Self-adjusting
+                access(node, lastDepth);  // Self-adjusting
                 return true;
             }
             return false;
@@ -127,6 +413,7 @@ public class Syed {
         // Internal BST search helper
         private Node findNode(int value) {
             Node current = root;
+            lastDepth = 0;
             while (current != null) {
                 if (value == current.value) {
                     return current;
@@ -135,10 +422,53 @@ public class Syed {
                 } else {
                     current = current.right;
                 }
+                lastDepth++;
             }
             return null;
         }
         
+        // Restructure after an access according to the configured mode
+        private void access(Node node, int depth) {
+            operations++;
+            switch (mode) {
+                case FULL:
+                    splay(node);
+                    break;
+                case SEMI:
+                    semiSplay(node);
+                    break;
+                case DEPTH_THRESHOLD:
+                    if (depth > modeParameter) splay(node);
+                    break;
+                case EVERY_KTH:
+                    if (operations % modeParameter == 0) splay(node);
+                    break;
+            }
+        }
+        
+        // Semi-splaying: zig-zig rotates only the parent up and continues from it,
+        // zig-zag is done in full; a final single zig is skipped
+        private void semiSplay(Node node) {
+            while (node.parent != null && node.parent.parent != null) {
+                Node parent = node.parent;
+                Node grandparent = parent.parent;
+                
+                if (node == parent.left && parent == grandparent.left) {
+                    rotateRight(grandparent);
+                    node = parent;
+                } else if (node == parent.right && parent == grandparent.right) {
+                    rotateLeft(grandparent);
+                    node = parent;
+                } else if (node == parent.right && parent == grandparent.left) {
+                    rotateLeft(parent);
+                    rotateRight(grandparent);
+                } else {
+                    rotateRight(parent);
+                    rotateLeft(grandparent);
+                }
+            }
+        }
+        
         // Core splaying operation with zig, zig-zig, and zig-zag cases
         private void splay(Node node) {
             while (node.parent != null) {
@@ -177,6 +507,7 @@ public class Syed {
         
         // Standard left rotation
         private void rotateLeft(Node node) {
+            rotations++;
             Node rightChild = node.right;
             node.right = rightChild.left;
             if (rightChild.left != null) {
@@ -196,6 +527,7 @@ public class Syed {
         
         // Standard right rotation
         private void rotateRight(Node node) {
+            rotations++;
             Node leftChild = node.left;
             node.left = leftChild.right;
             if (leftChild.right != null) {
@@ -236,5 +568,24 @@ public class Syed {
         tree.insert(10);
         tree.insert(30);
         System.out.println("Splay Tree Search (10 found): " + tree.search(10));  // Returns true and splays 10 to root
+
+        // Balanced O(n) build, then a parallel stream over the tree without recursion
+        int[] ids = new int[1_000_000];
+        for (int i = 0; i < ids.length; i++) ids[i] = 2 * i;
+        SplayTree bulk = SplayTree.fromSorted(ids);
+        System.out.println("Bulk-loaded tree size: " + bulk.size() + ", parallel sum: " + bulk.parallelStream().asLongStream().sum());
+
+        // Rotations per access on a skewed read-heavy workload
+        for (SplayTree.SplayMode mode : SplayTree.SplayMode.values()) {
+            SplayTree skewed = new SplayTree(mode, mode == SplayTree.SplayMode.EVERY_KTH ? 8 : 12);
+            Random random = new Random(42);
+            for (int i = 0; i < 10_000; i++) skewed.insert(random.nextInt(100_000));
+            skewed.resetStatistics();
+            for (int i = 0; i < 200_000; i++) {
+                double u = random.nextDouble();
+                skewed.search((int) (100_000 * u * u * u));
+            }
+            System.out.printf("%s: %.2f rotations per operation%n", mode, skewed.rotationsPerOperation());
+        }
     }
 }
\ No newline at end of file
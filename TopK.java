@@ -0,0 +1,147 @@
+import java.util.*;
+import java.util.stream.*;
+
+/**
+ * Bounded Top-K collector over primitive ints.
+ * Keeps only the K best values seen so far in a size-K heap whose root is the
+ * worst kept value, so every offer is O(log K) and memory stays O(K).
+ * For the K smallest values the heap is a MaxHeap, for the K largest a MinHeap.
+ */
+public class TopK {
+    private final int k;
+    private final boolean largest;  // true keeps the K largest, false the K smallest
+    private final int[] heap;       // Root holds the worst value currently kept
+    private int size;
+
+    private TopK(int k, boolean largest) {
+        if (k <= 0) throw new IllegalArgumentException("k must be positive: " + k);
+        this.k = k;
+        this.largest = largest;
+        this.heap = new int[k];
+    }
+
+    // Collector keeping the K smallest values (closest / cheapest)
+    public static TopK smallest(int k) {
+        return new TopK(k, false);
+    }
+
+    // Collector keeping the K largest values
+    public static TopK largest(int k) {
+        return new TopK(k, true);
+    }
+
+    // True if a ranks worse than b for this collector
+    private boolean worse(int a, int b) {
+        return largest ? a < b : a > b;
+    }
+
+    /**
+     * Push-style API: offers one value, O(log K)
+     */
+    public void offer(int value) {
+        if (size < k) {
+            int i = size++;
+            while (i != 0 && worse(value, heap[(i - 1) / 2])) {
+                heap[i] = heap[(i - 1) / 2];
+                i = (i - 1) / 2;
+            }
+            heap[i] = value;
+        } else if (worse(heap[0], value)) {
+            siftDown(value); // Replace the worst kept value
+        }
+    }
+
+    public void offerAll(int[] values) {
+        for (int value : values) {
+            offer(value);
+        }
+    }
+
+    /**
+     * Parallel combine step: folds another partial result into this one
+     * @return this collector, for use as a reduction combiner
+     */
+    public TopK combine(TopK other) {
+        if (other.largest != largest) throw new IllegalArgumentException("Cannot combine smallest and largest collectors");
+        for (int i = 0; i < other.size; i++) {
+            offer(other.heap[i]);
+        }
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Worst value kept so far, i.e. the current admission threshold
+    public int peekWorst() {
+        if (size == 0) throw new IllegalStateException("Heap is empty");
+        return heap[0];
+    }
+
+    /**
+     * @return Kept values best first (ascending for smallest, descending for largest)
+     */
+    public int[] toSortedArray() {
+        int[] result = Arrays.copyOf(heap, size);
+        Arrays.sort(result);
+        if (largest) {
+            for (int i = 0, j = result.length - 1; i < j; i++, j--) {
+                int temp = result[i];
+                result[i] = result[j];
+                result[j] = temp;
+            }
+        }
+        return result;
+    }
+
+    private void siftDown(int value) {
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && worse(heap[child + 1], heap[child])) child++;
+            if (!worse(heap[child], value)) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = value;
+    }
+
+    /**
+     * java.util.stream Collector for boxed streams, e.g. stream.collect(TopK.smallestCollector(10))
+     */
+    public static Collector<Integer, TopK, int[]> smallestCollector(int k) {
+        return Collector.of(() -> smallest(k), TopK::offer, TopK::combine, TopK::toSortedArray,
+            Collector.Characteristics.UNORDERED);
+    }
+
+    public static Collector<Integer, TopK, int[]> largestCollector(int k) {
+        return Collector.of(() -> largest(k), TopK::offer, TopK::combine, TopK::toSortedArray,
+            Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * K smallest values of a primitive stream; safe on parallel streams
+     */
+    public static int[] smallest(IntStream values, int k) {
+        return values.collect(() -> smallest(k), TopK::offer, TopK::combine).toSortedArray();
+    }
+
+    public static int[] largest(IntStream values, int k) {
+        return values.collect(() -> largest(k), TopK::offer, TopK::combine).toSortedArray();
+    }
+
+    // Test driver
+    public static void main(String[] args) {
+        TopK cheapest = TopK.smallest(3);
+        cheapest.offerAll(new int[]{40, 12, 35, 18, 30, 22});
+        System.out.println("3 cheapest: " + Arrays.toString(cheapest.toSortedArray())); // [12, 18, 22]
+
+        List<Integer> distances = Arrays.asList(12, 18, 22, 40, 30, 35);
+        System.out.println("2 farthest: " + Arrays.toString(distances.stream().collect(largestCollector(2)))); // [40, 35]
+
+        int[] closest = TopK.smallest(new Random(7).ints(5_000_000, 0, 100_000_000).parallel(), 5);
+        System.out.println("5 closest of 5M: " + Arrays.toString(closest));
+    }
+}
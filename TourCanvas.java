@@ -0,0 +1,415 @@
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.swing.*;
+
+/**
+ * Zoomable view of a tour with thousands of stops.
+ * - The tour is drawn into a cached BufferedImage on a background "tour-render"
+ *   thread; paintComponent only copies that image, so panning and zooming stay
+ *   smooth and the Event Dispatch Thread never walks the tour
+ * - Level of detail: segments entirely outside the visible area are culled,
+ *   segments shorter than a pixel are skipped, and stops are only marked when
+ *   few of them are visible
+ * - 2-opt moves (reverse) are applied to the render thread's copy of the tour;
+ *   only the rectangles around the changed edges are redrawn, unless the moves
+ *   queued up so far touch so much of the image that one full render is cheaper
+ * Wheel zooms around the cursor, dragging pans, double-click fits the tour.
+ */
+public class TourCanvas extends JComponent {
+    private static final long serialVersionUID = 1L;
+    private static final int MAX_DIRTY_RECTANGLES = 32;     // More separate changed areas: render everything once
+    private static final int MARKER_LIMIT = 2000;           // Mark stops only when at most this many are visible
+    private static final int MARGIN = 20;
+    private static final Color BACKGROUND = Color.WHITE;
+    private static final Color ROUTE = new Color(31, 119, 180);
+    private static final Color STOP = new Color(214, 39, 40);
+
+    // World to screen: screen = (world - offset) * scale
+    private static class View {
+        final double scale, offsetX, offsetY;
+        final int width, height;
+
+        View(double scale, double offsetX, double offsetY, int width, int height) {
+            this.scale = scale;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    // Finished image and how it was drawn
+    private static class Rendering {
+        final BufferedImage image;    // Lock it while drawing into or from it
+        final View view;
+        final boolean detailed;       // Stops marked and lines antialiased
+        final int drawn, culled;
+        final double millis;
+
+        Rendering(BufferedImage image, View view, boolean detailed, int drawn, int culled, double millis) {
+            this.image = image;
+            this.view = view;
+            this.detailed = detailed;
+            this.drawn = drawn;
+            this.culled = culled;
+            this.millis = millis;
+        }
+    }
+
+    private final ExecutorService renderer = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "tour-render");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean renderScheduled = new AtomicBoolean();
+    private final AtomicBoolean movesScheduled = new AtomicBoolean();
+    private final Queue<int[]> pendingMoves = new ConcurrentLinkedQueue<>();
+
+    // Owned by the render thread
+    private double[] x, y;
+    private int[] tour;
+    private float[] screenX, screenY;   // Stops projected with the view in projected
+    private View projected;
+
+    private volatile double[] bounds;   // minX, minY, maxX, maxY of the current stops
+    private volatile View view;         // Set on the Event Dispatch Thread
+    private volatile Rendering rendering;
+    private volatile int fullRenders, incrementalUpdates;  // Written by the render thread only
+    private Point dragStart;
+
+    public TourCanvas() {
+        setPreferredSize(new Dimension(800, 800));
+        setOpaque(true);
+
+        addMouseWheelListener(e -> {
+            View current = view;
+            if (current == null) return;
+            double factor = Math.pow(1.25, -e.getPreciseWheelRotation());
+            // Keep the world point under the cursor in place
+            double worldX = current.offsetX + e.getX() / current.scale;
+            double worldY = current.offsetY + e.getY() / current.scale;
+            double scale = current.scale * factor;
+            setView(new View(scale, worldX - e.getX() / scale, worldY - e.getY() / scale, current.width, current.height));
+        });
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragStart = e.getPoint();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                View current = view;
+                if (current == null || dragStart == null) return;
+                double dx = (e.getX() - dragStart.x) / current.scale, dy = (e.getY() - dragStart.y) / current.scale;
+                dragStart = e.getPoint();
+                setView(new View(current.scale, current.offsetX - dx, current.offsetY - dy, current.width, current.height));
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) fit();
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                fit();
+            }
+        });
+    }
+
+    /**
+     * Shows a new tour; may be called from any thread.
+     * The arrays are copied, later changes to the caller's tour must go through reverse.
+     */
+    public void setTour(double[] x, double[] y, int[] tour) {
+        double[] xs = x.clone(), ys = y.clone();
+        int[] order = tour.clone();
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < xs.length; i++) {
+            minX = Math.min(minX, xs[i]);
+            maxX = Math.max(maxX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxY = Math.max(maxY, ys[i]);
+        }
+        double[] box = xs.length == 0 ? null : new double[]{minX, minY, maxX, maxY};
+        bounds = box;
+        submit(() -> {
+            this.x = xs;
+            this.y = ys;
+            this.tour = order;
+            projected = null;
+        });
+        SwingUtilities.invokeLater(this::fit);
+    }
+
+    /**
+     * Mirrors a move on the shown tour: positions i..j were reversed
+     * (same contract as EuclideanTour.MoveListener); may be called from any thread.
+     */
+    public void reverse(int i, int j) {
+        pendingMoves.add(new int[]{i, j});
+        if (movesScheduled.compareAndSet(false, true)) submit(this::applyMoves);
+    }
+
+    // Stops the render thread; the canvas shows nothing new afterwards
+    public void dispose() {
+        renderer.shutdownNow();
+    }
+
+    // Scales the tour to fill the component
+    public void fit() {
+        double[] box = bounds;
+        int width = getWidth(), height = getHeight();
+        if (box == null || width <= 2 * MARGIN || height <= 2 * MARGIN) return;
+        double spanX = Math.max(box[2] - box[0], 1e-9), spanY = Math.max(box[3] - box[1], 1e-9);
+        double scale = Math.min((width - 2 * MARGIN) / spanX, (height - 2 * MARGIN) / spanY);
+        setView(new View(scale, box[0] - (width / scale - spanX) / 2, box[1] - (height / scale - spanY) / 2, width, height));
+    }
+
+    private void setView(View next) {
+        view = next;
+        scheduleRender();
+        repaint();
+    }
+
+    private void submit(Runnable task) {
+        try {
+            renderer.execute(task);
+        } catch (RejectedExecutionException ex) {
+            // Disposed: nothing left to draw on
+        }
+    }
+
+    // Many view changes in a row cause one render of the latest view
+    private void scheduleRender() {
+        if (renderScheduled.compareAndSet(false, true)) submit(this::render);
+    }
+
+    // ===================== Render thread =====================
+
+    private void render() {
+        renderScheduled.set(false);
+        View target = view;
+        if (target == null || tour == null || target.width <= 0 || target.height <= 0) return;
+        long start = System.nanoTime();
+        project(target);
+
+        int visible = 0;
+        for (int stop = 0; stop < screenX.length && visible <= MARKER_LIMIT; stop++) {
+            if (screenX[stop] >= 0 && screenX[stop] < target.width && screenY[stop] >= 0 && screenY[stop] < target.height) visible++;
+        }
+        boolean detailed = visible <= MARKER_LIMIT;
+
+        BufferedImage image = new BufferedImage(target.width, target.height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        int[] counts = draw(g, new Rectangle(0, 0, target.width, target.height), detailed);
+        g.dispose();
+        rendering = new Rendering(image, target, detailed, counts[0], counts[1], (System.nanoTime() - start) / 1e6);
+        fullRenders++;
+        repaint();
+    }
+
+    // Applies every queued move; redraws only around the changed edges when the image is current
+    private void applyMoves() {
+        movesScheduled.set(false);
+        List<int[]> moves = new ArrayList<>();
+        for (int[] move; (move = pendingMoves.poll()) != null; ) moves.add(move);
+        if (tour == null || moves.isEmpty()) return;
+
+        Rendering current = rendering;
+        boolean incremental = current != null && current.view == view && current.view == projected;
+        int n = tour.length;
+        Rectangle image = incremental ? new Rectangle(0, 0, current.view.width, current.view.height) : null;
+        List<Rectangle> dirty = new ArrayList<>();
+        for (int[] move : moves) {
+            if (incremental) {
+                // Old edges (before i, i), (j, after j) and new edges (before i, j), (i, after j)
+                Rectangle changed = null;
+                for (int p : new int[]{(move[0] - 1 + n) % n, move[0], move[1], (move[1] + 1) % n}) {
+                    int stop = tour[p];
+                    Rectangle point = new Rectangle((int) Math.floor(screenX[stop]) - 3, (int) Math.floor(screenY[stop]) - 3, 7, 7);
+                    changed = changed == null ? point : changed.union(point);
+                }
+                changed = changed.intersection(image);
+                if (!changed.isEmpty()) addDirty(dirty, changed);
+                incremental = dirty.size() <= MAX_DIRTY_RECTANGLES;
+            }
+            EuclideanTour.reverseRange(tour, move[0], move[1]);
+        }
+
+        long area = 0;
+        for (Rectangle r : dirty) area += (long) r.width * r.height;
+        if (!incremental || area > (long) image.width * image.height / 4) {
+            scheduleRender();
+            return;
+        }
+        if (dirty.isEmpty()) return;
+        synchronized (current.image) {
+            for (Rectangle r : dirty) {
+                Graphics2D g = current.image.createGraphics();
+                g.clip(r);
+                draw(g, r, current.detailed);
+                g.dispose();
+            }
+        }
+        incrementalUpdates++;
+        for (Rectangle r : dirty) repaint(r);
+    }
+
+    // Adds r to the dirty areas, merging the areas it overlaps
+    private static void addDirty(List<Rectangle> dirty, Rectangle r) {
+        for (boolean merged = true; merged; ) {
+            merged = false;
+            for (Iterator<Rectangle> it = dirty.iterator(); it.hasNext(); ) {
+                Rectangle other = it.next();
+                if (other.intersects(r)) {
+                    r = r.union(other);
+                    it.remove();
+                    merged = true;
+                }
+            }
+        }
+        dirty.add(r);
+    }
+
+    private void project(View target) {
+        if (projected == target) return;
+        int n = x.length;
+        if (screenX == null || screenX.length != n) {
+            screenX = new float[n];
+            screenY = new float[n];
+        }
+        for (int i = 0; i < n; i++) {
+            screenX[i] = (float) ((x[i] - target.offsetX) * target.scale);
+            screenY[i] = (float) ((y[i] - target.offsetY) * target.scale);
+        }
+        projected = target;
+    }
+
+    /**
+     * Draws the segments and stops that can touch area
+     * @return Segments drawn and segments culled
+     */
+    private int[] draw(Graphics2D g, Rectangle area, boolean detailed) {
+        g.setColor(BACKGROUND);
+        g.fill(area);
+        if (detailed) g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        float left = area.x - 1, top = area.y - 1, right = area.x + area.width + 1, bottom = area.y + area.height + 1;
+
+        int drawn = 0, culled = 0, n = tour.length;
+        g.setColor(ROUTE);
+        for (int k = 0; k < n; k++) {
+            int a = tour[k], b = tour[k + 1 == n ? 0 : k + 1];
+            // Same direction whichever way the tour runs, so reversed stretches rasterise identically
+            if (a > b) {
+                int swap = a;
+                a = b;
+                b = swap;
+            }
+            float x1 = screenX[a], y1 = screenY[a], x2 = screenX[b], y2 = screenY[b];
+            // Trivial reject: both ends beyond the same edge of the area
+            if ((x1 < left && x2 < left) || (x1 > right && x2 > right)
+                || (y1 < top && y2 < top) || (y1 > bottom && y2 > bottom)) {
+                culled++;
+                continue;
+            }
+            int ix1 = (int) x1, iy1 = (int) y1, ix2 = (int) x2, iy2 = (int) y2;
+            // Within one pixel: the neighbouring segments already cover it
+            if (!detailed && ix1 == ix2 && iy1 == iy2) {
+                culled++;
+                continue;
+            }
+            g.drawLine(ix1, iy1, ix2, iy2);
+            drawn++;
+        }
+
+        if (detailed) {
+            g.setColor(STOP);
+            for (int stop = 0; stop < n; stop++) {
+                float sx = screenX[stop], sy = screenY[stop];
+                if (sx >= left && sx <= right && sy >= top && sy <= bottom) g.fillOval((int) sx - 2, (int) sy - 2, 5, 5);
+            }
+        }
+        return new int[]{drawn, culled};
+    }
+
+    // ===================== Event Dispatch Thread =====================
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setColor(BACKGROUND);
+        g2.fillRect(0, 0, getWidth(), getHeight());
+        Rendering current = rendering;
+        View target = view;
+        if (current == null || target == null) {
+            g2.setColor(Color.BLACK);
+            g2.drawString("Rendering...", getWidth() / 2 - 30, getHeight() / 2);
+            return;
+        }
+
+        synchronized (current.image) {
+            if (current.view == target) {
+                g2.drawImage(current.image, 0, 0, null);
+            } else {
+                // Stale image moved to the current view until the new one is ready
+                AffineTransform saved = g2.getTransform();
+                g2.translate((current.view.offsetX - target.offsetX) * target.scale,
+                             (current.view.offsetY - target.offsetY) * target.scale);
+                g2.scale(target.scale / current.view.scale, target.scale / current.view.scale);
+                g2.drawImage(current.image, 0, 0, null);
+                g2.setTransform(saved);
+            }
+        }
+
+        String stats = String.format("%,d stops | %,d segments drawn, %,d culled | render %.1f ms | %,d full, %,d partial redraws",
+            current.drawn + current.culled, current.drawn, current.culled, current.millis, fullRenders, incrementalUpdates);
+        g2.setColor(new Color(255, 255, 255, 200));
+        g2.fillRect(0, 0, g2.getFontMetrics().stringWidth(stats) + 10, 20);
+        g2.setColor(Color.BLACK);
+        g2.drawString(stats, 5, 15);
+    }
+
+    // Test driver: renders a 100k stop tour off screen, applies 2-opt moves to it and zooms in
+    public static void main(String[] args) {
+        EuclideanTour instance = EuclideanTour.random(100_000, new Random(42));
+        int[] tour = instance.nearestNeighbourTour();
+        TourCanvas canvas = new TourCanvas();
+        canvas.setSize(1000, 1000);
+        canvas.setTour(instance.getX(), instance.getY(), tour);
+        try {
+            SwingUtilities.invokeAndWait(canvas::fit);
+            canvas.renderer.submit(() -> { }).get();
+            Rendering full = canvas.rendering;
+            System.out.printf("Full render: %,d segments drawn, %,d culled in %.1f ms%n", full.drawn, full.culled, full.millis);
+
+            long start = System.nanoTime();
+            int moves = instance.twoOpt(tour, new DeliveryRouteOptimization.SolverMonitor(), canvas::reverse);
+            canvas.renderer.submit(() -> { }).get();
+            System.out.printf("2-opt: %d moves shown in %d ms with %d full and %d partial redraws, tours agree: %b%n", moves,
+                (System.nanoTime() - start) / 1_000_000, canvas.fullRenders - 1, canvas.incrementalUpdates, Arrays.equals(tour, canvas.tour));
+
+            SwingUtilities.invokeAndWait(() -> {
+                View v = canvas.view;
+                canvas.setView(new View(v.scale * 20, v.offsetX + 450, v.offsetY + 450, v.width, v.height));
+            });
+            canvas.renderer.submit(() -> { }).get();
+            Rendering zoomed = canvas.rendering;
+            System.out.printf("Zoomed 20x: %,d segments drawn, %,d culled in %.1f ms%n", zoomed.drawn, zoomed.culled, zoomed.millis);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        } finally {
+            canvas.dispose();
+        }
+    }
+}